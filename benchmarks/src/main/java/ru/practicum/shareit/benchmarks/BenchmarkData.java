@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+    static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 10, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("user" + id)
+                .email("user" + id + "@mail.com")
+                .build();
+    }
+
+    static Item item(long id, User owner) {
+        return Item.builder()
+                .id(id)
+                .name("Дрель " + id)
+                .description("Простая дрель с набором свёрл, номер " + id)
+                .available(true)
+                .owner(owner)
+                .requestId(id % 3 == 0 ? id : null)
+                .version(0L)
+                .build();
+    }
+
+    static List<Booking> bookings(int size) {
+        User owner = user(1);
+        List<Booking> bookings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bookings.add(Booking.builder()
+                    .id((long) i)
+                    .start(BASE.plusHours(i))
+                    .end(BASE.plusHours(i + 1))
+                    .item(item(i % 10, owner))
+                    .booker(user(i + 2L))
+                    .bookingStatus(BookingStatus.APPROVED)
+                    .version(0L)
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(int size, Item item) {
+        List<Comment> comments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            comments.add(Comment.builder()
+                    .id((long) i)
+                    .text("Отличная дрель, сверлит бетон без проблем, отзыв номер " + i)
+                    .item(item)
+                    .author(user(i + 2L))
+                    .created(BASE.plusMinutes(i))
+                    .build());
+        }
+        return comments;
+    }
+
+    static List<ItemResponseDto> itemResponses(int size) {
+        User owner = user(1);
+        List<Booking> bookings = bookings(2);
+        List<ItemResponseDto> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Item item = item(i, owner);
+            List<CommentResponseDto> comments = CommentMapper.toListComment(comments(3, item));
+            items.add(ItemMapper.toItemResponseDto(item, bookings.get(0), bookings.get(1), comments));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayPassthroughBenchmark {
+    @Param({"items", "bookings"})
+    String payload;
+
+    @Param({"1", "20", "200"})
+    int size;
+
+    MappingJackson2HttpMessageConverter jsonConverter;
+    ByteArrayHttpMessageConverter bytesConverter;
+    byte[] serverResponse;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        jsonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        bytesConverter = new ByteArrayHttpMessageConverter();
+        serverResponse = objectMapper.writeValueAsBytes("items".equals(payload)
+                ? BenchmarkData.itemResponses(size)
+                : BookingMapper.toBookingDtoList(BenchmarkData.bookings(size)));
+    }
+
+    @Benchmark
+    public byte[] parseAndReencode() throws IOException {
+        Object body = jsonConverter.read(Object.class, new InputMessage(serverResponse));
+        OutputMessage output = new OutputMessage(serverResponse.length);
+        jsonConverter.write(body, MediaType.APPLICATION_JSON, output);
+        return output.body.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] rawPassthrough() throws IOException {
+        byte[] body = bytesConverter.read(byte[].class, new InputMessage(serverResponse));
+        OutputMessage output = new OutputMessage(serverResponse.length);
+        bytesConverter.write(body, MediaType.APPLICATION_JSON, output);
+        return output.body.toByteArray();
+    }
+
+    private static final class InputMessage implements HttpInputMessage {
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private InputMessage(byte[] body) {
+            this.body = body;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class OutputMessage implements HttpOutputMessage {
+        private final ByteArrayOutputStream body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private OutputMessage(int expectedSize) {
+            this.body = new ByteArrayOutputStream(expectedSize);
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
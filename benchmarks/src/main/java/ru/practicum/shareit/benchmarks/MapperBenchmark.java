@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"1", "20", "200"})
+    int size;
+
+    Item item;
+    Booking lastBooking;
+    Booking nextBooking;
+    List<CommentResponseDto> commentResponses;
+    List<Comment> comments;
+    List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        item = BenchmarkData.item(1, BenchmarkData.user(1));
+        bookings = BenchmarkData.bookings(size);
+        lastBooking = BenchmarkData.bookings(2).get(0);
+        nextBooking = BenchmarkData.bookings(2).get(1);
+        comments = BenchmarkData.comments(size, item);
+        commentResponses = CommentMapper.toListComment(comments);
+    }
+
+    @Benchmark
+    public ItemResponseDto toItemResponseDto() {
+        return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, commentResponses);
+    }
+
+    @Benchmark
+    public List<BookingDto> toBookingDtoList() {
+        return BookingMapper.toBookingDtoList(bookings);
+    }
+
+    @Benchmark
+    public List<CommentResponseDto> toListComment() {
+        return CommentMapper.toListComment(comments);
+    }
+}
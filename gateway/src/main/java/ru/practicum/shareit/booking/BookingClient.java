@@ -2,71 +2,89 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchMode;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayTransportFactory;
+import ru.practicum.shareit.item.ItemClient;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
-public class BookingClient extends BaseClient {
+public class BookingClient<R> extends BaseClient<R> {
     private static final String API_PREFIX = "/bookings";
 
+    private final GatewayResponseCache responseCache;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, GatewayTransportFactory<R> transportFactory,
+                         GatewayResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.responseCache = responseCache;
+    }
+
+    public R getUserBookings(Long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return getBookings("", userId, state, from, size, cursor);
     }
 
-    public ResponseEntity<Object> getUserBookings(Long userId, BookingState state, Integer from, Integer size) {
+    public R getOwnerBookings(Long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return getBookings("/owner", userId, state, from, size, cursor);
+    }
+
+    private R getBookings(String path, Long userId, BookingState state, Integer from, Integer size,
+                          String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get(path + "?state={state}&cursor={cursor}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(Long userId, BookingState state, Integer from, Integer size) {
+    public R createBooking(Long userId, BookItemRequestDto requestDto) {
         Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
+                "${headers.user.id.name}", userId
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return responseCache.evictAfter(transport, () -> post("", userId, parameters, requestDto),
+                ItemClient.API_PREFIX + "/" + requestDto.getItemId() + "|");
     }
 
-
-    public ResponseEntity<Object> createBooking(Long userId, BookItemRequestDto requestDto) {
+    public R createBookings(Long userId, BookingBatchMode mode, List<BookItemRequestDto> requestDtos) {
         Map<String, Object> parameters = Map.of(
-                "${headers.user.id.name}", userId
+                "mode", mode.name()
         );
-        return post("", userId, parameters, requestDto);
+        return responseCache.evictAfter(transport, () -> post("/batch?mode={mode}", userId, parameters, requestDtos),
+                ItemClient.API_PREFIX + "/");
     }
 
-    public ResponseEntity<Object> getBookingById(Long userId, Long bookingId) {
+    public R getBookingById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> updateBooking(Long bookingId, Long userId, Boolean approved) {
+    public R updateBooking(Long bookingId, Long userId, Boolean approved) {
         Map<String, Object> parameters = new HashMap<>();
         if (approved != null) {
             parameters.put("${headers.user.id.name}", userId);
         }
-        return patch("/" + bookingId + "?approved=" + approved, userId, parameters);
+        return responseCache.evictAfter(transport,
+                () -> patch("/" + bookingId + "?approved=" + approved, userId, parameters),
+                ItemClient.API_PREFIX + "/");
     }
 
-    public ResponseEntity<Object> deleteBookingById(Long bookingId) {
-        return delete("/" + bookingId);
+    public R deleteBookingById(Long bookingId) {
+        return responseCache.evictAfter(transport, () -> delete("/" + bookingId), ItemClient.API_PREFIX + "/");
     }
 }
@@ -2,76 +2,113 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchMode;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exceptions.BookingNotAvailableException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
+
+import static ru.practicum.shareit.util.Constants.BOOKING_BATCH_MAX_SIZE;
 
-@Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
-public class BookingController {
-    private final BookingClient bookingClient;
+public abstract class BookingController<R> {
+    private final BookingClient<R> bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader(value = "${headers.user.id.name}") Long userId,
-                                              @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public R getBookings(@RequestHeader(value = "${headers.user.id.name}") Long userId,
+                         @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                         @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new BookingNotAvailableException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getUserBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getUserBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerBookings(@RequestHeader(value = "${headers.user.id.name}") Long userId,
-                                                   @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                                   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
-                                                   Integer from,
-                                                   @Positive @RequestParam(name = "size", defaultValue = "10")
-                                                   Integer size) {
+    public R getOwnerBookings(@RequestHeader(value = "${headers.user.id.name}") Long userId,
+                              @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                              Integer from,
+                              @Positive @RequestParam(name = "size", defaultValue = "10")
+                              Integer size,
+                              @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam.toUpperCase())
                 .orElseThrow(() -> new BookingNotAvailableException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getOwnerBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getOwnerBookings(userId, state, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestHeader(value = "${headers.user.id.name}") Long userId,
-                                             @RequestBody @Valid BookItemRequestDto requestDto) {
+    public R createBooking(@RequestHeader(value = "${headers.user.id.name}") Long userId,
+                        @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.createBooking(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public R createBookings(@RequestHeader(value = "${headers.user.id.name}") Long userId,
+                            @RequestParam(name = "mode", defaultValue = "ALL_OR_NOTHING") String modeParam,
+                            @RequestBody List<@Valid BookItemRequestDto> requestDtos) {
+        if (requestDtos.isEmpty() || requestDtos.size() > BOOKING_BATCH_MAX_SIZE) {
+            throw new BookingNotAvailableException("Пакет должен содержать от 1 до " + BOOKING_BATCH_MAX_SIZE
+                    + " бронирований");
+        }
+        BookingBatchMode mode = BookingBatchMode.from(modeParam)
+                .orElseThrow(() -> new BookingNotAvailableException("Unknown mode: " + modeParam));
+        log.info("Creating {} bookings in mode {}, userId={}", requestDtos.size(), mode, userId);
+        return bookingClient.createBookings(userId, mode, requestDtos);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@RequestHeader(value = "${headers.user.id.name}") Long userId,
-                                                 @PathVariable Long bookingId) {
+    public R getBookingById(@RequestHeader(value = "${headers.user.id.name}") Long userId,
+                            @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBookingById(userId, bookingId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBooking(@RequestHeader(value = "${headers.user.id.name}") Long userId,
-                                               @PathVariable Long bookingId,
-                                               @RequestParam(name = "approved",
-                                                       required = false) Boolean approved) {
+    public R updateBooking(@RequestHeader(value = "${headers.user.id.name}") Long userId,
+                          @PathVariable Long bookingId,
+                          @RequestParam(name = "approved",
+                                  required = false) Boolean approved) {
         log.info("Update booking {}, userId={}, approved={}", bookingId, userId, approved);
         return bookingClient.updateBooking(bookingId, userId, approved);
     }
 
     @DeleteMapping("/{bookingId}")
-    public ResponseEntity<Object> deleteBooking(@PathVariable Long bookingId) {
+    public R deleteBooking(@PathVariable Long bookingId) {
         log.info("Delete bookingId={}", bookingId);
         return bookingClient.deleteBookingById(bookingId);
     }
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Servlet extends BookingController<ResponseEntity<Object>> {
+        Servlet(BookingClient<ResponseEntity<Object>> bookingClient) {
+            super(bookingClient);
+        }
+    }
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive extends BookingController<Mono<ResponseEntity<Object>>> {
+        Reactive(BookingClient<Mono<ResponseEntity<Object>>> bookingClient) {
+            super(bookingClient);
+        }
+    }
 }
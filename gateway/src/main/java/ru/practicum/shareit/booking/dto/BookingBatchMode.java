@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.Optional;
+
+public enum BookingBatchMode {
+	// Пакет создаётся, только если корректны все бронирования
+	ALL_OR_NOTHING,
+	// Создаются корректные бронирования, остальные возвращаются с ошибкой
+	PARTIAL;
+
+	public static Optional<BookingBatchMode> from(String stringMode) {
+		for (BookingBatchMode mode : values()) {
+			if (mode.name().equalsIgnoreCase(stringMode)) {
+				return Optional.of(mode);
+			}
+		}
+		return Optional.empty();
+	}
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class GatewayResponseCache {
+    private static final String CACHE_NAME = "gatewayResponses";
+    private static final String WEAK_PREFIX = "W/";
+
+    private final Cache<String, ResponseEntity<Object>> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public GatewayResponseCache(@Value("${gateway.response-cache.ttl:30s}") Duration ttl,
+                                @Value("${gateway.response-cache.max-size:10000}") long maxSize,
+                                MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public <R> R get(GatewayTransport<R> transport, String path, Long userId, @Nullable String ifNoneMatch,
+                     Supplier<R> loader) {
+        String key = path + "|" + userId;
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            String eTag = cached.getHeaders().getETag();
+            if (eTag != null && matches(ifNoneMatch, eTag)) {
+                return transport.completed(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .build());
+            }
+            return transport.completed(cached);
+        }
+        long loadGeneration = generation.get();
+        return transport.inspect(loader.get(), response -> {
+            if (response.getStatusCode().is2xxSuccessful() && loadGeneration == generation.get()) {
+                cache.put(key, response);
+            }
+        });
+    }
+
+    public <R> R evictAfter(GatewayTransport<R> transport, Supplier<R> mutation, String... pathPrefixes) {
+        return transport.andFinally(mutation, () -> evict(pathPrefixes));
+    }
+
+    public void evict(String... pathPrefixes) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> {
+            for (String pathPrefix : pathPrefixes) {
+                if (key.startsWith(pathPrefix)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    private static boolean matches(@Nullable String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith(WEAK_PREFIX)) {
+                trimmed = trimmed.substring(WEAK_PREFIX.length());
+            }
+            if (trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public interface GatewayTransport<R> {
+    R exchange(HttpMethod method, String path, HttpHeaders headers,
+               @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    R completed(ResponseEntity<Object> response);
+
+    R inspect(R response, Consumer<ResponseEntity<Object>> inspector);
+
+    R andFinally(Supplier<R> call, Runnable action);
+}
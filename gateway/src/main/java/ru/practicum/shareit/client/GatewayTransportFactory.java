@@ -0,0 +1,5 @@
+package ru.practicum.shareit.client;
+
+public interface GatewayTransportFactory<R> {
+    GatewayTransport<R> create(String baseUrl);
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+@UtilityClass
+public class ProxyHeaders {
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.UPGRADE,
+            HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION);
+
+    public static HttpHeaders forwarded(HttpHeaders serverHeaders) {
+        HttpHeaders forwarded = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                forwarded.addAll(name, values);
+            }
+        });
+        return forwarded;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+public class RestTemplateTransport implements GatewayTransport<ResponseEntity<Object>> {
+    public static final ResponseErrorHandler PASSTHROUGH_ERRORS = new ResponseErrorHandler() {
+        @Override
+        public boolean hasError(ClientHttpResponse response) {
+            return false;
+        }
+
+        @Override
+        public void handleError(ClientHttpResponse response) {
+        }
+    };
+
+    private final RestTemplate rest;
+    private final Class<?> responseType;
+
+    @Override
+    public ResponseEntity<Object> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                           @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<?> shareitServerResponse;
+        if (parameters != null) {
+            shareitServerResponse = rest.exchange(path, method, requestEntity, responseType, parameters);
+        } else {
+            shareitServerResponse = rest.exchange(path, method, requestEntity, responseType);
+        }
+        return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                .headers(ProxyHeaders.forwarded(shareitServerResponse.getHeaders()))
+                .body(shareitServerResponse.getBody());
+    }
+
+    @Override
+    public ResponseEntity<Object> completed(ResponseEntity<Object> response) {
+        return response;
+    }
+
+    @Override
+    public ResponseEntity<Object> inspect(ResponseEntity<Object> response, Consumer<ResponseEntity<Object>> inspector) {
+        inspector.accept(response);
+        return response;
+    }
+
+    @Override
+    public ResponseEntity<Object> andFinally(Supplier<ResponseEntity<Object>> call, Runnable action) {
+        try {
+            return call.get();
+        } finally {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class TimedPoolingConnectionManager extends PoolingHttpClientConnectionManager implements MeterBinder {
+    private final String poolName;
+    private volatile Timer leaseTimer;
+
+    public TimedPoolingConnectionManager(String poolName) {
+        this.poolName = poolName;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new PoolingHttpClientConnectionManagerMetricsBinder(this, poolName).bindTo(registry);
+        leaseTimer = Timer.builder("httpcomponents.httpclient.pool.lease")
+                .description("Время ожидания соединения из пула")
+                .tag("httpclient", poolName)
+                .register(registry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                Timer timer = leaseTimer;
+                if (timer == null) {
+                    return request.get(timeout, timeUnit);
+                }
+                Timer.Sample sample = Timer.start();
+                try {
+                    return request.get(timeout, timeUnit);
+                } finally {
+                    sample.stop(timer);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+}
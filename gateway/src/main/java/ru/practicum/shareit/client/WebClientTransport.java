@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+public class WebClientTransport implements GatewayTransport<Mono<ResponseEntity<Object>>> {
+    private final WebClient webClient;
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        if (body != null) {
+            request.bodyValue(body);
+        }
+        return request.retrieve()
+                .onStatus(HttpStatus::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> ResponseEntity.status(response.getStatusCode())
+                        .headers(ProxyHeaders.forwarded(response.getHeaders()))
+                        .body(new ProxiedBody(response.getBody())));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> completed(ResponseEntity<Object> response) {
+        return Mono.just(response);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> inspect(Mono<ResponseEntity<Object>> response,
+                                                Consumer<ResponseEntity<Object>> inspector) {
+        return response.flatMap(WebClientTransport::buffered)
+                .doOnNext(inspector);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> andFinally(Supplier<Mono<ResponseEntity<Object>>> call, Runnable action) {
+        return Mono.defer(call).doFinally(signal -> action.run());
+    }
+
+    private static Mono<ResponseEntity<Object>> buffered(ResponseEntity<Object> response) {
+        if (!(response.getBody() instanceof ProxiedBody)) {
+            return Mono.just(response);
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders());
+        return DataBufferUtils.join(((ProxiedBody) response.getBody()).getContent())
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return builder.body((Object) bytes);
+                })
+                .defaultIfEmpty(builder.build());
+    }
+}
@@ -12,6 +12,7 @@ import ru.practicum.shareit.item.ItemClientController;
 import ru.practicum.shareit.request.ItemRequestClientController;
 import ru.practicum.shareit.user.UserClientController;
 
+import javax.validation.ConstraintViolationException;
 import java.util.Map;
 
 
@@ -40,6 +41,13 @@ public class ErrorsHandler {
         return Map.of("error", e.getMessage());
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleConstraintViolationExc(final ConstraintViolationException e) {
+        log.error("Запрос не прошёл валидацию: {}", e.getMessage());
+        return Map.of("error", e.getMessage());
+    }
+
     @ExceptionHandler(AlreadyExistException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ResponseEntity<?> handleAlreadyExistsExc(final RuntimeException e) {
@@ -2,29 +2,33 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayTransportFactory;
+import ru.practicum.shareit.request.ItemRequestClient;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
+import static ru.practicum.shareit.util.Constants.DATE_TIME_FORMATTER;
+
 @Service
-public class ItemClient extends BaseClient {
+public class ItemClient<R> extends BaseClient<R> {
+
+    public static final String API_PREFIX = "/items";
 
-    private static final String API_PREFIX = "/items";
+    private final GatewayResponseCache responseCache;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, GatewayTransportFactory<R> transportFactory,
+                      GatewayResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> getAllItems(Long userId, Integer from, Integer size) {
+    public R getAllItems(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -33,30 +37,49 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemById(Long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public R getItemById(Long userId, Long itemId, String ifNoneMatch) {
+        return responseCache.get(transport, API_PREFIX + "/" + itemId, userId, ifNoneMatch,
+                () -> getIfNoneMatch("/" + itemId, userId, ifNoneMatch));
+    }
+
+    public R getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        StringBuilder path = new StringBuilder("/" + itemId + "/availability");
+        Map<String, Object> parameters = new HashMap<>();
+        if (from != null) {
+            parameters.put("from", from.format(DATE_TIME_FORMATTER));
+            path.append("?from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to.format(DATE_TIME_FORMATTER));
+            path.append(from != null ? "&" : "?").append("to={to}");
+        }
+        return get(path.toString(), userId, parameters);
     }
 
-    public ResponseEntity<Object> createItem(Long userId, ItemDto itemDto, Long requestId) {
+    public R createItem(Long userId, ItemDto itemDto, Long requestId) {
         if (requestId != null) {
             Map<String, Object> parameters = Map.of(
                     "requestId", requestId
             );
-            return post("?requestId={requestId}", userId, parameters, itemDto);
+            return responseCache.evictAfter(transport,
+                    () -> post("?requestId={requestId}", userId, parameters, itemDto),
+                    ItemRequestClient.API_PREFIX + "/" + requestId + "|");
         }
 
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long itemId, Long userId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+    public R updateItem(Long itemId, Long userId, ItemDto itemDto) {
+        return responseCache.evictAfter(transport, () -> patch("/" + itemId, userId, itemDto),
+                API_PREFIX + "/" + itemId + "|", ItemRequestClient.API_PREFIX + "/");
     }
 
-    public ResponseEntity<Object> deleteItem(Long itemId) {
-        return delete("/" + itemId);
+    public R deleteItem(Long itemId) {
+        return responseCache.evictAfter(transport, () -> delete("/" + itemId),
+                API_PREFIX + "/" + itemId + "|", ItemRequestClient.API_PREFIX + "/");
     }
 
-    public ResponseEntity<Object> search(String text, Long userId, Integer from, Integer size) {
+    public R search(String text, Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -66,7 +89,8 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentRequestDto commentRequestDto) {
-        return post("/" + itemId + "/comment", userId, commentRequestDto);
+    public R createComment(Long userId, Long itemId, CommentRequestDto commentRequestDto) {
+        return responseCache.evictAfter(transport, () -> post("/" + itemId + "/comment", userId, commentRequestDto),
+                API_PREFIX + "/" + itemId + "|");
     }
 }
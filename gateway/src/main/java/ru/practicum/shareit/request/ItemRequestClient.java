@@ -2,39 +2,39 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayTransportFactory;
 
 import java.util.Map;
 
 @Service
-public class ItemRequestClient extends BaseClient {
-    private static final String API_PREFIX = "/requests";
+public class ItemRequestClient<R> extends BaseClient<R> {
+    public static final String API_PREFIX = "/requests";
+
+    private final GatewayResponseCache responseCache;
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             GatewayTransportFactory<R> transportFactory, GatewayResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.responseCache = responseCache;
     }
 
 
-    public ResponseEntity<Object> getItemRequests(Long requesterId) {
+    public R getItemRequests(Long requesterId) {
         return get("", requesterId);
     }
 
 
-    public ResponseEntity<Object> getItemRequestById(Long requesterId, Long requestId) {
-        return get("/" + requestId, requesterId);
+    public R getItemRequestById(Long requesterId, Long requestId, String ifNoneMatch) {
+        return responseCache.get(transport, API_PREFIX + "/" + requestId, requesterId, ifNoneMatch,
+                () -> getIfNoneMatch("/" + requestId, requesterId, ifNoneMatch));
     }
 
 
-    public ResponseEntity<Object> getAllItemRequests(Long requesterId, Integer from, Integer size) {
+    public R getAllItemRequests(Long requesterId, Integer from, Integer size) {
 
         Map<String, Object> parameters = Map.of(
                 "from", from,
@@ -44,7 +44,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", requesterId, parameters);
     }
 
-    public ResponseEntity<Object> postItemRequest(Long requesterId, ItemRequestPostDto itemRequestPost) {
+    public R postItemRequest(Long requesterId, ItemRequestPostDto itemRequestPost) {
         return post("", requesterId, itemRequestPost);
     }
 }
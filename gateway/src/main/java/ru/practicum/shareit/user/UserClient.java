@@ -2,41 +2,44 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayTransportFactory;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
 
 @Service
-public class UserClient extends BaseClient {
+public class UserClient<R> extends BaseClient<R> {
+
+    private final GatewayResponseCache responseCache;
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/users"))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, GatewayTransportFactory<R> transportFactory,
+                      GatewayResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + "/users"));
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
+    public R getUser(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+    public R updateUser(Long userId, UserDto userDto) {
+        return responseCache.evictAfter(transport, () -> patch("/" + userId, userDto),
+                ItemClient.API_PREFIX + "/", ItemRequestClient.API_PREFIX + "/");
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
-        return delete("/" + userId);
+    public R deleteUser(Long userId) {
+        return responseCache.evictAfter(transport, () -> delete("/" + userId),
+                ItemClient.API_PREFIX + "/", ItemRequestClient.API_PREFIX + "/");
     }
 
-    public ResponseEntity<Object> createUser(UserDto userDto) {
+    public R createUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public R getUsers() {
         return get("");
     }
 
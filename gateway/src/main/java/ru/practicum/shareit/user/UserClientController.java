@@ -2,49 +2,65 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.util.Create;
 import ru.practicum.shareit.util.Update;
 
-@Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
-public class UserClientController {
-    private final UserClient userClient;
+public abstract class UserClientController<R> {
+    private final UserClient<R> userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Validated(Create.class) UserDto userDto) {
+    public R createUser(@RequestBody @Validated(Create.class) UserDto userDto) {
         log.info("createUser - userDto = {}", userDto);
         return userClient.createUser(userDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> readUsers() {
+    public R readUsers() {
         log.info("readUsers");
         return userClient.getUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> readUser(@PathVariable Long userId) {
+    public R readUser(@PathVariable Long userId) {
         log.info("readUser - user_id = {}", userId);
         return userClient.getUser(userId);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable Long userId, @Validated(Update.class) @RequestBody UserDto userDto) {
+    public R updateUser(@PathVariable Long userId, @Validated(Update.class) @RequestBody UserDto userDto) {
         log.info("updateUser - user_id = {}", userId);
         return userClient.updateUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long userId) {
+    public R deleteUser(@PathVariable Long userId) {
         log.info("deleteUser - user_id = {}", userId);
         return userClient.deleteUser(userId);
     }
 
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Servlet extends UserClientController<ResponseEntity<Object>> {
+        Servlet(UserClient<ResponseEntity<Object>> userClient) {
+            super(userClient);
+        }
+    }
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive extends UserClientController<Mono<ResponseEntity<Object>>> {
+        Reactive(UserClient<Mono<ResponseEntity<Object>>> userClient) {
+            super(userClient);
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking.controllertest;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookingController.class)
+class BookingControllerTest {
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    BookingClient<ResponseEntity<Object>> bookingClient;
+
+    @Test
+    @SneakyThrows
+    @DisplayName("GET /bookings/{id} - в режиме servlet ответ пишется сразу, без асинхронной обработки")
+    void getBookingByIdShouldNotStartAsyncProcessing() {
+        when(bookingClient.getBookingById(1L, 2L)).thenReturn(ResponseEntity.ok(Map.of("id", 2)));
+
+        mvc.perform(get("/bookings/2")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(2));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("POST /bookings/batch - бронирование с началом в прошлом отклоняется, как и в POST /bookings")
+    void createBookingsShouldRejectStartInPast() {
+        LocalDateTime now = LocalDateTime.now();
+        String batch = "[" + booking(now.plusDays(1), now.plusDays(2)) + ","
+                + booking(now.minusDays(1), now.plusDays(2)) + "]";
+
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("POST /bookings/batch - бронирование без окончания отклоняется")
+    void createBookingsShouldRejectMissingEnd() {
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"itemId\":1,\"start\":\"" + LocalDateTime.now().plusDays(1) + "\"}]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    private static String booking(LocalDateTime start, LocalDateTime end) {
+        return "{\"itemId\":1,\"start\":\"" + start + "\",\"end\":\"" + end + "\"}";
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.controllertest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(BookingController.class)
+@ImportAutoConfiguration(WebClientAutoConfiguration.class)
+class ReactiveBookingControllerTest {
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    BookingClient<Mono<ResponseEntity<Object>>> bookingClient;
+
+    @Test
+    @DisplayName("GET /bookings/{id} - в режиме reactive контроллер возвращает ответ клиента")
+    void getBookingByIdShouldReturnClientResponse() {
+        when(bookingClient.getBookingById(1L, 2L)).thenReturn(Mono.just(ResponseEntity.ok(Map.of("id", 2))));
+
+        webTestClient.get()
+                .uri("/bookings/2")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("POST /bookings/batch - в режиме reactive бронирование с началом в прошлом отклоняется")
+    void createBookingsShouldRejectStartInPast() {
+        LocalDateTime now = LocalDateTime.now();
+
+        webTestClient.post()
+                .uri("/bookings/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"itemId\":1,\"start\":\"" + now.minusDays(1) + "\",\"end\":\"" + now.plusDays(1) + "\"}]")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(bookingClient);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GatewayResponseCacheTest {
+    static final String ETAG = "\"1.0.0\"";
+
+    GatewayResponseCache cache = new GatewayResponseCache(Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+    GatewayTransport<ResponseEntity<Object>> transport = new RestTemplateTransport(new RestTemplate(), Object.class);
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<ResponseEntity<Object>> loader = () -> {
+        loads.incrementAndGet();
+        return ResponseEntity.ok().eTag(ETAG).body(Map.of("id", 1));
+    };
+
+    @Test
+    @DisplayName("get - попадание в кэш с совпадающим If-None-Match отвечает 304 без тела")
+    void cachedResponseShouldAnswerNotModifiedForMatchingTag() {
+        cache.get(transport, "/items/1", 2L, null, loader);
+
+        ResponseEntity<Object> response = cache.get(transport, "/items/1", 2L, "W/\"0.0.0\", " + ETAG, loader);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(response.getBody());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("get - попадание в кэш с другим If-None-Match отдаёт сохранённый ответ")
+    void cachedResponseShouldBeReturnedForStaleTag() {
+        cache.get(transport, "/items/1", 2L, null, loader);
+
+        ResponseEntity<Object> response = cache.get(transport, "/items/1", 2L, "\"0.0.0\"", loader);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("id", 1), response.getBody());
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.controllertest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayTransportFactory;
+import ru.practicum.shareit.client.RestTemplateTransport;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemClientController;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemClientController.class)
+@Import({ItemClient.class, GatewayResponseCache.class, ItemClientControllerTest.ServerStub.class})
+class ItemClientControllerTest {
+    static final String ETAG = "\"1.0.0\"";
+    static final String ITEM = "{\"id\":1,\"name\":\"Дрель\"}";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    RestTemplate shareItServerRestTemplate;
+
+    @Value("${shareit-server.url}")
+    String serverUrl;
+
+    MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(shareItServerRestTemplate).build();
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("GET /items/{id} - повторный условный запрос к закэшированной вещи получает 304 без обращения к server")
+    void conditionalGetOfCachedItemShouldReturnNotModified() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(ETAG);
+        server.expect(requestTo(serverUrl + ItemClient.API_PREFIX + "/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(ITEM, MediaType.APPLICATION_JSON).headers(headers));
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().json(ITEM));
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 2L)
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 2L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0.0.0\""))
+                .andExpect(status().isOk())
+                .andExpect(content().json(ITEM));
+
+        server.verify();
+    }
+
+    @TestConfiguration
+    static class ServerStub {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        RestTemplate shareItServerRestTemplate(@Value("${shareit-server.url}") String serverUrl) {
+            return new RestTemplateBuilder()
+                    .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + ItemClient.API_PREFIX))
+                    .errorHandler(RestTemplateTransport.PASSTHROUGH_ERRORS)
+                    .build();
+        }
+
+        @Bean
+        GatewayTransportFactory<ResponseEntity<Object>> transportFactory(RestTemplate shareItServerRestTemplate) {
+            return baseUrl -> new RestTemplateTransport(shareItServerRestTemplate, byte[].class);
+        }
+    }
+}
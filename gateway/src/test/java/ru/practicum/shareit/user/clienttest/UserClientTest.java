@@ -0,0 +1,85 @@
+package ru.practicum.shareit.user.clienttest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayTransport;
+import ru.practicum.shareit.client.RestTemplateTransport;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserDto;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class UserClientTest {
+    static final String SERVER_URL = "http://localhost:9090";
+
+    RestTemplate rest = new RestTemplateBuilder()
+            .uriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL + "/users"))
+            .errorHandler(RestTemplateTransport.PASSTHROUGH_ERRORS)
+            .build();
+    GatewayTransport<ResponseEntity<Object>> transport = new RestTemplateTransport(rest, byte[].class);
+    GatewayResponseCache responseCache = new GatewayResponseCache(Duration.ofMinutes(1), 100,
+            new SimpleMeterRegistry());
+    UserClient<ResponseEntity<Object>> userClient = new UserClient<>(SERVER_URL, baseUrl -> transport, responseCache);
+    MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<ResponseEntity<Object>> loader = () -> {
+        loads.incrementAndGet();
+        return ResponseEntity.ok("{}");
+    };
+
+    @BeforeEach
+    void setUp() {
+        responseCache.get(transport, "/items/1", 3L, null, loader);
+        responseCache.get(transport, "/requests/1", 3L, null, loader);
+    }
+
+    @Test
+    @DisplayName("deleteUser - вытесняет закэшированные вещи и запросы, удалённые каскадом на server")
+    void deleteUserShouldEvictItemsAndRequests() {
+        server.expect(requestTo(SERVER_URL + "/users/2"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.OK));
+
+        userClient.deleteUser(2L);
+
+        assertCachedResponsesReloaded();
+    }
+
+    @Test
+    @DisplayName("updateUser - вытесняет закэшированные вещи и запросы с прежним именем автора")
+    void updateUserShouldEvictItemsAndRequests() {
+        server.expect(requestTo(SERVER_URL + "/users/2"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":2,\"name\":\"renamed\"}", MediaType.APPLICATION_JSON));
+
+        userClient.updateUser(2L, UserDto.builder().name("renamed").build());
+
+        assertCachedResponsesReloaded();
+    }
+
+    private void assertCachedResponsesReloaded() {
+        server.verify();
+        responseCache.get(transport, "/items/1", 3L, null, loader);
+        responseCache.get(transport, "/requests/1", 3L, null, loader);
+        assertEquals(4, loads.get());
+    }
+}
@@ -0,0 +1,223 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class DataGenerator {
+    static final List<String> NOUNS = List.of("Дрель", "Перфоратор", "Шуруповёрт", "Лестница", "Палатка",
+            "Велосипед", "Самокат", "Пила", "Болгарка", "Рюкзак", "Фотоаппарат", "Проектор", "Гитара", "Лыжи",
+            "Сноуборд", "Каяк", "Мангал", "Генератор", "Компрессор", "Отвёртка");
+    static final List<String> BRANDS = List.of("Bosch", "Makita", "Stels", "Canon", "Yamaha", "Salomon",
+            "Husqvarna", "Karcher", "Tefal", "Fischer");
+    static final List<String> CONDITIONS = List.of("в отличном состоянии", "почти без следов использования",
+            "с полным комплектом", "после обслуживания", "есть следы использования");
+
+    private final Connection connection;
+
+    public Dataset generate(DatasetSize size) throws SQLException {
+        size.validate();
+        Random random = new Random(size.getSeed());
+        String runId = Long.toString(System.currentTimeMillis(), 36) + Integer.toString(random.nextInt(1 << 20), 36);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            List<Long> userIds = insertUsers(size, runId);
+            List<Long> requestIds = insertRequests(size, random, userIds, now);
+            Map<Long, List<Long>> itemIdsByOwner = insertItems(size, random, userIds, requestIds);
+            insertBookings(size, random, userIds, itemIdsByOwner, now);
+            insertComments(size, random, userIds, itemIdsByOwner, now);
+            connection.commit();
+            return new Dataset(userIds, itemIdsByOwner, requestIds, searchWords());
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    public void remove(Dataset dataset) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM users WHERE id = ?")) {
+            for (Long userId : dataset.getUserIds()) {
+                statement.setLong(1, userId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public static Dataset loadDataset(Connection connection) throws SQLException {
+        List<Long> userIds = new ArrayList<>();
+        Map<Long, List<Long>> itemIdsByOwner = new LinkedHashMap<>();
+        List<Long> requestIds = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery("SELECT id FROM users ORDER BY id")) {
+                while (rows.next()) {
+                    userIds.add(rows.getLong(1));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("SELECT id, owner_id FROM items ORDER BY id")) {
+                while (rows.next()) {
+                    itemIdsByOwner.computeIfAbsent(rows.getLong(2), key -> new ArrayList<>()).add(rows.getLong(1));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("SELECT id FROM item_requests ORDER BY id")) {
+                while (rows.next()) {
+                    requestIds.add(rows.getLong(1));
+                }
+            }
+        }
+        return new Dataset(userIds, itemIdsByOwner, requestIds, searchWords());
+    }
+
+    static List<String> searchWords() {
+        return Stream.concat(NOUNS.stream(), BRANDS.stream())
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> insertUsers(DatasetSize size, String runId) throws SQLException {
+        return insert("INSERT INTO users (user_name, email) VALUES (?, ?)", size.getUsers(), size.getBatchSize(),
+                (statement, i) -> {
+                    statement.setString(1, "user" + i);
+                    statement.setString(2, "load-" + runId + "-" + i + "@mail.com");
+                });
+    }
+
+    private List<Long> insertRequests(DatasetSize size, Random random, List<Long> userIds, LocalDateTime now)
+            throws SQLException {
+        return insert("INSERT INTO item_requests (description, requester_id, created) VALUES (?, ?, ?)",
+                size.getRequests(), size.getBatchSize(), (statement, i) -> {
+                    statement.setString(1, "Ищу " + pick(random, NOUNS).toLowerCase(Locale.ROOT) + " на выходные");
+                    statement.setLong(2, pick(random, userIds));
+                    statement.setTimestamp(3, Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 90))));
+                });
+    }
+
+    private Map<Long, List<Long>> insertItems(DatasetSize size, Random random, List<Long> userIds,
+                                              List<Long> requestIds) throws SQLException {
+        List<Long> ownerIds = userIds.subList(0, size.getOwners());
+        int perOwner = size.getItemsPerOwner();
+        List<Long> itemIds = insert("INSERT INTO items (item_name, owner_id, item_description, available, request_id) "
+                        + "VALUES (?, ?, ?, ?, ?)", ownerIds.size() * perOwner, size.getBatchSize(),
+                (statement, i) -> {
+                    String noun = pick(random, NOUNS);
+                    String brand = pick(random, BRANDS);
+                    statement.setString(1, noun + " " + brand + " " + (i % 100));
+                    statement.setLong(2, ownerIds.get(i / perOwner));
+                    statement.setString(3, noun + " " + brand + ", " + pick(random, CONDITIONS));
+                    statement.setBoolean(4, random.nextInt(10) != 0);
+                    if (!requestIds.isEmpty() && random.nextInt(10) == 0) {
+                        statement.setLong(5, pick(random, requestIds));
+                    } else {
+                        statement.setNull(5, Types.BIGINT);
+                    }
+                });
+        Map<Long, List<Long>> itemIdsByOwner = new LinkedHashMap<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            itemIdsByOwner.computeIfAbsent(ownerIds.get(i / perOwner), key -> new ArrayList<>()).add(itemIds.get(i));
+        }
+        return itemIdsByOwner;
+    }
+
+    private void insertBookings(DatasetSize size, Random random, List<Long> userIds,
+                                Map<Long, List<Long>> itemIdsByOwner, LocalDateTime now) throws SQLException {
+        int perItem = size.getBookingsPerItem();
+        List<long[]> items = itemsWithOwners(itemIdsByOwner);
+        LocalDateTime first = now.truncatedTo(ChronoUnit.HOURS).minusDays(perItem / 2 * 2L);
+        insert("INSERT INTO bookings (start_time, end_time, item_id, booker_id, booking_status) VALUES (?, ?, ?, ?, ?)",
+                items.size() * perItem, size.getBatchSize(), (statement, i) -> {
+                    long[] item = items.get(i / perItem);
+                    LocalDateTime start = first.plusDays(2L * (i % perItem)).plusHours(random.nextInt(12));
+                    LocalDateTime end = start.plusDays(1);
+                    statement.setTimestamp(1, Timestamp.valueOf(start));
+                    statement.setTimestamp(2, Timestamp.valueOf(end));
+                    statement.setLong(3, item[0]);
+                    statement.setLong(4, pickOther(random, userIds, item[1]));
+                    statement.setString(5, status(random, end.isBefore(now)));
+                });
+    }
+
+    private void insertComments(DatasetSize size, Random random, List<Long> userIds,
+                                Map<Long, List<Long>> itemIdsByOwner, LocalDateTime now) throws SQLException {
+        int perItem = size.getCommentsPerItem();
+        List<long[]> items = itemsWithOwners(itemIdsByOwner);
+        insert("INSERT INTO comments (text_comment, item_id, user_id, created) VALUES (?, ?, ?, ?)",
+                items.size() * perItem, size.getBatchSize(), (statement, i) -> {
+                    long[] item = items.get(i / perItem);
+                    statement.setString(1, "Брал на выходные, вещь " + pick(random, CONDITIONS));
+                    statement.setLong(2, item[0]);
+                    statement.setLong(3, pickOther(random, userIds, item[1]));
+                    statement.setTimestamp(4, Timestamp.valueOf(now.minusHours(1 + random.nextInt(24 * 365))));
+                });
+    }
+
+    private List<Long> insert(String sql, int count, int batchSize, RowBinder binder) throws SQLException {
+        List<Long> ids = new ArrayList<>(count);
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (int i = 0; i < count; i++) {
+                binder.bind(statement, i);
+                statement.addBatch();
+                if ((i + 1) % batchSize == 0 || i == count - 1) {
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+        }
+        if (ids.size() != count) {
+            throw new IllegalStateException("Драйвер вернул " + ids.size() + " ключей вместо " + count + ": " + sql);
+        }
+        return ids;
+    }
+
+    private static List<long[]> itemsWithOwners(Map<Long, List<Long>> itemIdsByOwner) {
+        List<long[]> items = new ArrayList<>();
+        itemIdsByOwner.forEach((ownerId, itemIds) -> itemIds.forEach(itemId -> items.add(new long[]{itemId, ownerId})));
+        return items;
+    }
+
+    private static String status(Random random, boolean past) {
+        int roll = random.nextInt(10);
+        if (past) {
+            return roll == 0 ? "REJECTED" : "APPROVED";
+        }
+        return roll < 5 ? "WAITING" : roll < 9 ? "APPROVED" : "REJECTED";
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static long pickOther(Random random, List<Long> userIds, long excluded) {
+        int index = random.nextInt(userIds.size());
+        return userIds.get(index) == excluded ? userIds.get((index + 1) % userIds.size()) : userIds.get(index);
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement, int index) throws SQLException;
+    }
+}
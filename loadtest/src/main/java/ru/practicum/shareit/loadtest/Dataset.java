@@ -0,0 +1,38 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+public class Dataset {
+    private final List<Long> userIds;
+    private final Map<Long, List<Long>> itemIdsByOwner;
+    private final List<Long> requestIds;
+    private final List<String> searchWords;
+    private final List<Long> ownerIds;
+    private final List<Long> itemIds;
+    private final Map<Long, Long> ownerIdByItem;
+
+    public Dataset(List<Long> userIds, Map<Long, List<Long>> itemIdsByOwner, List<Long> requestIds,
+                   List<String> searchWords) {
+        this.userIds = List.copyOf(userIds);
+        this.itemIdsByOwner = Map.copyOf(itemIdsByOwner);
+        this.requestIds = List.copyOf(requestIds);
+        this.searchWords = List.copyOf(searchWords);
+        this.ownerIds = new ArrayList<>(itemIdsByOwner.keySet());
+        this.itemIds = new ArrayList<>();
+        this.ownerIdByItem = new HashMap<>();
+        itemIdsByOwner.forEach((ownerId, items) -> items.forEach(itemId -> {
+            itemIds.add(itemId);
+            ownerIdByItem.put(itemId, ownerId);
+        }));
+    }
+
+    public int itemCount() {
+        return itemIds.size();
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@Builder
+@ToString
+public class DatasetSize {
+    @Builder.Default
+    private final int users = 1_000;
+    @Builder.Default
+    private final int owners = 100;
+    @Builder.Default
+    private final int itemsPerOwner = 10;
+    @Builder.Default
+    private final int bookingsPerItem = 5;
+    @Builder.Default
+    private final int commentsPerItem = 2;
+    @Builder.Default
+    private final int requests = 200;
+    @Builder.Default
+    private final int batchSize = 1_000;
+    @Builder.Default
+    private final long seed = 42L;
+
+    public void validate() {
+        if (users < 2 || owners < 1 || owners > users || itemsPerOwner < 0 || bookingsPerItem < 0
+                || commentsPerItem < 0 || requests < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("Некорректный размер набора данных: " + this);
+        }
+    }
+}
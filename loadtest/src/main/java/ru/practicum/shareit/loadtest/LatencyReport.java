@@ -0,0 +1,93 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyReport {
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Duration elapsed;
+
+    LatencyReport(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    void record(String endpoint, long latencyNanos, int status) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        stats.latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        if (status >= 500) {
+            stats.serverErrors.increment();
+        } else if (status >= 400) {
+            stats.clientErrors.increment();
+        }
+    }
+
+    void recordFailure(String endpoint) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).failures.increment();
+    }
+
+    public Map<String, Histogram> latencies() {
+        Map<String, Histogram> latencies = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> latencies.put(endpoint, stats.latency.copy()));
+        return latencies;
+    }
+
+    public long totalRequests() {
+        return endpoints.values().stream().mapToLong(stats -> stats.latency.getTotalCount()).sum();
+    }
+
+    public long totalServerErrors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.serverErrors.sum() + stats.failures.sum()).sum();
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        String format = "%-36s %9s %7s %7s %7s %9s %9s %9s %9s %9s%n";
+        out.printf(Locale.ROOT, format, "Эндпоинт", "Запросов", "4xx", "5xx", "Сбоев", "RPS",
+                "p50 мс", "p99 мс", "p99.9 мс", "max мс");
+        Histogram total = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        long clientErrors = 0;
+        long serverErrors = 0;
+        long failures = 0;
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            EndpointStats stats = entry.getValue();
+            Histogram latency = stats.latency.copy();
+            total.add(latency);
+            clientErrors += stats.clientErrors.sum();
+            serverErrors += stats.serverErrors.sum();
+            failures += stats.failures.sum();
+            printRow(out, format, entry.getKey(), latency, stats.clientErrors.sum(), stats.serverErrors.sum(),
+                    stats.failures.sum(), seconds);
+        }
+        printRow(out, format, "ИТОГО", total, clientErrors, serverErrors, failures, seconds);
+    }
+
+    private static void printRow(PrintStream out, String format, String endpoint, Histogram latency,
+                                 long clientErrors, long serverErrors, long failures, double seconds) {
+        out.printf(Locale.ROOT, format, endpoint, latency.getTotalCount(), clientErrors, serverErrors, failures,
+                String.format(Locale.ROOT, "%.1f", latency.getTotalCount() / seconds),
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                millis(latency.getValueAtPercentile(99.9)), millis(latency.getMaxValue()));
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.2f", micros / 1000.0);
+    }
+
+    private static class EndpointStats {
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+}
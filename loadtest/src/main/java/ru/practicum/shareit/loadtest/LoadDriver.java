@@ -0,0 +1,89 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadDriver {
+    private final LoadSettings settings;
+    private final HttpClient httpClient;
+
+    public LoadDriver(LoadSettings settings) {
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(settings.getTimeout())
+                .build();
+    }
+
+    public LatencyReport run(Workload workload, Dataset dataset) throws InterruptedException {
+        if (dataset.getItemIds().isEmpty() || dataset.getUserIds().size() < 2) {
+            throw new IllegalStateException("Для нагрузки нужны хотя бы два пользователя и одна вещь");
+        }
+        int concurrency = settings.getConcurrency();
+        long intervalNanos = settings.getRate() > 0 ? (long) (concurrency * 1e9 / settings.getRate()) : 0;
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + settings.getWarmup().toNanos();
+        long stopAt = measureFrom + settings.getDuration().toNanos();
+        LatencyReport report = new LatencyReport(settings.getDuration());
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int worker = 0; worker < concurrency; worker++) {
+            Session session = new Session(dataset, settings.getGateway(), settings.getTimeout(),
+                    new Random(settings.getSeed() + worker));
+            long firstStart = startedAt + intervalNanos * worker / concurrency;
+            executor.execute(() -> runWorker(workload, session, report, firstStart, measureFrom, stopAt, intervalNanos));
+        }
+        executor.shutdown();
+        long grace = settings.getTimeout().toNanos() * 2;
+        if (!executor.awaitTermination(stopAt - System.nanoTime() + grace, TimeUnit.NANOSECONDS)) {
+            executor.shutdownNow();
+        }
+        return report;
+    }
+
+    private void runWorker(Workload workload, Session session, LatencyReport report, long firstStart,
+                           long measureFrom, long stopAt, long intervalNanos) {
+        long intended = firstStart;
+        while (!Thread.currentThread().isInterrupted()) {
+            long now = System.nanoTime();
+            if (intervalNanos > 0) {
+                if (intended >= stopAt) {
+                    return;
+                }
+                if (intended > now) {
+                    LockSupport.parkNanos(intended - now);
+                }
+            } else {
+                if (now >= stopAt) {
+                    return;
+                }
+                intended = now;
+            }
+            Operation.Call call = workload.next(session.random()).prepare(session);
+            String endpoint = call.operation().endpoint();
+            boolean measured = intended >= measureFrom;
+            try {
+                HttpResponse<String> response = httpClient.send(call.request(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() < 300) {
+                    call.succeeded(response.body());
+                }
+                if (measured) {
+                    report.record(endpoint, System.nanoTime() - intended, response.statusCode());
+                }
+            } catch (IOException e) {
+                if (measured) {
+                    report.recordFailure(endpoint);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            intended += intervalNanos;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Getter
+@Builder
+@ToString
+public class LoadSettings {
+    @Builder.Default
+    private final URI gateway = URI.create("http://localhost:8080");
+    @Builder.Default
+    private final int concurrency = 16;
+    @Builder.Default
+    private final Duration warmup = Duration.ofSeconds(10);
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(60);
+    @Builder.Default
+    private final double rate = 0;
+    @Builder.Default
+    private final Duration timeout = Duration.ofSeconds(10);
+    @Builder.Default
+    private final long seed = 42L;
+}
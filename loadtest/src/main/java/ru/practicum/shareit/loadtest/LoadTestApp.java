@@ -0,0 +1,113 @@
+package ru.practicum.shareit.loadtest;
+
+import org.flywaydb.core.Flyway;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LoadTestApp {
+    private static final String DEFAULT_MIGRATIONS = "filesystem:server/src/main/resources/db/migration/common,"
+            + "filesystem:server/src/main/resources/db/migration/{vendor}";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("seed") || args[0].equals("run"))) {
+            System.err.println("Использование: seed|run [--параметр=значение ...], см. README");
+            System.exit(2);
+        }
+        Map<String, String> options = options(args);
+        String url = options.getOrDefault("db-url", "jdbc:h2:file:./target/shareit-load;AUTO_SERVER=TRUE");
+        String user = options.getOrDefault("db-user", "test");
+        String password = options.getOrDefault("db-password", "test");
+        if (args[0].equals("seed")) {
+            seed(options, url, user, password);
+        } else {
+            run(options, url, user, password);
+        }
+    }
+
+    private static void seed(Map<String, String> options, String url, String user, String password)
+            throws SQLException {
+        if (Boolean.parseBoolean(options.getOrDefault("migrate", "true"))) {
+            Flyway.configure()
+                    .dataSource(url, user, password)
+                    .locations(options.getOrDefault("migrations", DEFAULT_MIGRATIONS).split(","))
+                    .baselineOnMigrate(true)
+                    .load()
+                    .migrate();
+        }
+        DatasetSize size = DatasetSize.builder()
+                .users(intOption(options, "users", 1_000))
+                .owners(intOption(options, "owners", 100))
+                .itemsPerOwner(intOption(options, "items-per-owner", 10))
+                .bookingsPerItem(intOption(options, "bookings-per-item", 5))
+                .commentsPerItem(intOption(options, "comments-per-item", 2))
+                .requests(intOption(options, "requests", 200))
+                .batchSize(intOption(options, "batch-size", 1_000))
+                .seed(Long.parseLong(options.getOrDefault("seed", "42")))
+                .build();
+        long startedAt = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            Dataset dataset = new DataGenerator(connection).generate(size);
+            System.out.printf("Сгенерировано за %d мс: пользователей %d, вещей %d, запросов %d (%s)%n",
+                    Duration.ofNanos(System.nanoTime() - startedAt).toMillis(), dataset.getUserIds().size(),
+                    dataset.itemCount(), dataset.getRequestIds().size(), size);
+        }
+    }
+
+    private static void run(Map<String, String> options, String url, String user, String password)
+            throws SQLException, InterruptedException {
+        Dataset dataset;
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            dataset = DataGenerator.loadDataset(connection);
+        }
+        LoadSettings settings = LoadSettings.builder()
+                .gateway(URI.create(options.getOrDefault("gateway", "http://localhost:8080")))
+                .concurrency(intOption(options, "concurrency", 16))
+                .warmup(Duration.ofSeconds(intOption(options, "warmup", 10)))
+                .duration(Duration.ofSeconds(intOption(options, "duration", 60)))
+                .rate(Double.parseDouble(options.getOrDefault("rate", "0")))
+                .seed(Long.parseLong(options.getOrDefault("seed", "42")))
+                .build();
+        List<Workload> workloads = new ArrayList<>();
+        for (String name : options.getOrDefault("workload", "all").split(",")) {
+            if (name.equals("all")) {
+                workloads.addAll(List.of(Workload.values()));
+            } else {
+                workloads.add(Workload.of(name));
+            }
+        }
+        boolean failed = false;
+        for (Workload workload : workloads) {
+            System.out.printf("%nСценарий %s: %s%n", workload, settings);
+            LatencyReport report = new LoadDriver(settings).run(workload, dataset);
+            report.print(System.out);
+            failed |= report.totalServerErrors() > 0;
+        }
+        if (failed && Boolean.parseBoolean(options.getOrDefault("fail-on-errors", "false"))) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--") || !args[i].contains("=")) {
+                throw new IllegalArgumentException("Ожидался параметр вида --имя=значение: " + args[i]);
+            }
+            int separator = args[i].indexOf('=');
+            options.put(args[i].substring(2, separator), args[i].substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, Integer.toString(defaultValue)));
+    }
+}
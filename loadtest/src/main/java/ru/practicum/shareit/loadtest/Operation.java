@@ -0,0 +1,143 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+enum Operation {
+    SEARCH_ITEMS("GET /items/search") {
+        @Override
+        Call prepare(Session session) {
+            return call(session.request("/items/search?text=" + session.searchWord() + "&from=0&size=20",
+                    session.anyUser()).GET());
+        }
+    },
+    ITEM_AS_USER("GET /items/{itemId}") {
+        @Override
+        Call prepare(Session session) {
+            return call(session.request("/items/" + session.anyItem(), session.anyUser()).GET());
+        }
+    },
+    ITEM_AS_OWNER("GET /items/{itemId} (владелец)") {
+        @Override
+        Call prepare(Session session) {
+            long ownerId = session.anyOwner();
+            return call(session.request("/items/" + session.ownedItem(ownerId), ownerId).GET());
+        }
+    },
+    OWNER_ITEMS("GET /items") {
+        @Override
+        Call prepare(Session session) {
+            return call(session.request("/items?from=0&size=20", session.anyOwner()).GET());
+        }
+    },
+    OWNER_BOOKINGS("GET /bookings/owner?state=ALL") {
+        @Override
+        Call prepare(Session session) {
+            return call(session.request("/bookings/owner?state=ALL&from=0&size=20", session.anyOwner()).GET());
+        }
+    },
+    OWNER_WAITING_BOOKINGS("GET /bookings/owner?state=WAITING") {
+        @Override
+        Call prepare(Session session) {
+            return call(session.request("/bookings/owner?state=WAITING&from=0&size=20", session.anyOwner()).GET());
+        }
+    },
+    USER_BOOKINGS("GET /bookings?state=ALL") {
+        @Override
+        Call prepare(Session session) {
+            return call(session.request("/bookings?state=ALL&from=0&size=20", session.anyUser()).GET());
+        }
+    },
+    OWN_REQUESTS("GET /requests") {
+        @Override
+        Call prepare(Session session) {
+            return call(session.request("/requests", session.anyUser()).GET());
+        }
+    },
+    ALL_REQUESTS("GET /requests/all") {
+        @Override
+        Call prepare(Session session) {
+            return call(session.request("/requests/all?from=0&size=20", session.anyUser()).GET());
+        }
+    },
+    CREATE_BOOKING("POST /bookings") {
+        @Override
+        Call prepare(Session session) {
+            long itemId = session.anyItem();
+            long ownerId = session.ownerOf(itemId);
+            LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                    .plusDays(1 + session.random().nextInt(365))
+                    .plusHours(session.random().nextInt(24));
+            LocalDateTime end = start.plusDays(1 + session.random().nextInt(3));
+            String body = "{\"itemId\":" + itemId + ",\"start\":\"" + start + "\",\"end\":\"" + end + "\"}";
+            return new Call(this, session.request("/bookings", session.anyUserExcept(ownerId))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), response -> {
+                Matcher matcher = ID.matcher(response);
+                if (matcher.find()) {
+                    session.addPendingBooking(Long.parseLong(matcher.group(1)), ownerId);
+                }
+            });
+        }
+    },
+    APPROVE_BOOKING("PATCH /bookings/{bookingId}") {
+        @Override
+        Call prepare(Session session) {
+            long[] pending = session.pollPendingBooking();
+            if (pending == null) {
+                return CREATE_BOOKING.prepare(session);
+            }
+            boolean approved = session.random().nextInt(10) < 7;
+            return call(session.request("/bookings/" + pending[0] + "?approved=" + approved, pending[1])
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+        }
+    };
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    abstract Call prepare(Session session);
+
+    Call call(HttpRequest.Builder request) {
+        return new Call(this, request.build(), response -> {
+        });
+    }
+
+    static final class Call {
+        private final Operation operation;
+        private final HttpRequest request;
+        private final Consumer<String> onSuccess;
+
+        Call(Operation operation, HttpRequest request, Consumer<String> onSuccess) {
+            this.operation = operation;
+            this.request = request;
+            this.onSuccess = onSuccess;
+        }
+
+        Operation operation() {
+            return operation;
+        }
+
+        HttpRequest request() {
+            return request;
+        }
+
+        void succeeded(String body) {
+            onSuccess.accept(body);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+class Session {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private static final int MAX_PENDING = 1_000;
+
+    private final Dataset dataset;
+    private final URI gateway;
+    private final Duration timeout;
+    private final Random random;
+    private final Deque<long[]> pendingBookings = new ArrayDeque<>();
+
+    Session(Dataset dataset, URI gateway, Duration timeout, Random random) {
+        this.dataset = dataset;
+        this.gateway = gateway;
+        this.timeout = timeout;
+        this.random = random;
+    }
+
+    Random random() {
+        return random;
+    }
+
+    long anyUser() {
+        return pick(dataset.getUserIds());
+    }
+
+    long anyOwner() {
+        return pick(dataset.getOwnerIds());
+    }
+
+    long anyItem() {
+        return pick(dataset.getItemIds());
+    }
+
+    long ownedItem(long ownerId) {
+        return pick(dataset.getItemIdsByOwner().get(ownerId));
+    }
+
+    long ownerOf(long itemId) {
+        return dataset.getOwnerIdByItem().get(itemId);
+    }
+
+    long anyUserExcept(long userId) {
+        List<Long> userIds = dataset.getUserIds();
+        int index = random.nextInt(userIds.size());
+        return userIds.get(index) == userId ? userIds.get((index + 1) % userIds.size()) : userIds.get(index);
+    }
+
+    String searchWord() {
+        return URLEncoder.encode(pick(dataset.getSearchWords()), StandardCharsets.UTF_8);
+    }
+
+    void addPendingBooking(long bookingId, long ownerId) {
+        if (pendingBookings.size() == MAX_PENDING) {
+            pendingBookings.pollFirst();
+        }
+        pendingBookings.addLast(new long[]{bookingId, ownerId});
+    }
+
+    long[] pollPendingBooking() {
+        return pendingBookings.pollFirst();
+    }
+
+    HttpRequest.Builder request(String path, long userId) {
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(timeout)
+                .header(USER_ID, Long.toString(userId));
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
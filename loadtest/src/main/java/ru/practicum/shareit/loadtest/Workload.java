@@ -0,0 +1,49 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+public enum Workload {
+    SEARCH_HEAVY(Map.of(
+            Operation.SEARCH_ITEMS, 80,
+            Operation.ITEM_AS_USER, 15,
+            Operation.ALL_REQUESTS, 5)),
+    OWNER_DASHBOARD(Map.of(
+            Operation.OWNER_ITEMS, 30,
+            Operation.ITEM_AS_OWNER, 25,
+            Operation.OWNER_BOOKINGS, 20,
+            Operation.OWNER_WAITING_BOOKINGS, 15,
+            Operation.OWN_REQUESTS, 10)),
+    BOOKING_BURSTS(Map.of(
+            Operation.CREATE_BOOKING, 50,
+            Operation.APPROVE_BOOKING, 30,
+            Operation.USER_BOOKINGS, 20));
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(Map<Operation, Integer> weights) {
+        operations = weights.keySet().stream().sorted().toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation next(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public static Workload of(String name) {
+        return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -2,16 +2,21 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchResponseDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import java.util.List;
 
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR;
 import static ru.practicum.shareit.util.Constants.USER_ID;
 
 @RestController
@@ -30,6 +35,15 @@ public class BookingController {
         return new ResponseEntity<>(bookingService.create(bookingRequestDto, id), HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BookingBatchResponseDto> createBookings(@RequestBody List<BookingRequestDto> bookingRequestDtos,
+                                                                  @RequestHeader(USER_ID) Long id,
+                                                                  @RequestParam(name = "mode", defaultValue = "ALL_OR_NOTHING")
+                                                                  String mode) {
+        BookingBatchResponseDto response = bookingService.createBatch(bookingRequestDtos, id, mode);
+        return new ResponseEntity<>(response, response.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<BookingDto> approveBooking(@RequestHeader(USER_ID) Long userId, @PathVariable Long bookingId,
                                                      @RequestParam(name = "approved", required = false) Boolean approved) {
@@ -47,7 +61,12 @@ public class BookingController {
                                                             Integer from,
                                                             @RequestParam(name = "size", required = false, defaultValue = "10")
                                                             Integer size,
-                                                            @RequestParam(defaultValue = "ALL") String state) {
+                                                            @RequestParam(defaultValue = "ALL") String state,
+                                                            @RequestParam(name = "cursor", required = false)
+                                                            String cursor) {
+        if (cursor != null) {
+            return toCursorResponse(bookingService.getAllByUserWithCursor(userId, state, cursor, size));
+        }
         return new ResponseEntity<>(bookingService.getAllByUser(userId, state, from, size), HttpStatus.OK);
     }
 
@@ -57,10 +76,24 @@ public class BookingController {
                                                                   Integer from,
                                                                   @RequestParam(name = "size", required = false, defaultValue = "10")
                                                                   Integer size,
-                                                                  @RequestParam(defaultValue = "ALL") String state) {
+                                                                  @RequestParam(defaultValue = "ALL") String state,
+                                                                  @RequestParam(name = "cursor", required = false)
+                                                                  String cursor) {
+        if (cursor != null) {
+            return toCursorResponse(bookingService.getAllByOwnerWithCursor(ownerId, state, cursor, size));
+        }
         return new ResponseEntity<>(bookingService.getAllByOwner(ownerId, state, from, size), HttpStatus.OK);
     }
 
+    private static ResponseEntity<List<BookingDto>> toCursorResponse(Slice<BookingDto> bookings) {
+        HttpHeaders headers = new HttpHeaders();
+        if (bookings.hasNext()) {
+            BookingDto last = bookings.getContent().get(bookings.getNumberOfElements() - 1);
+            headers.set(NEXT_CURSOR, new KeysetCursor(last.getStart(), last.getId()).encode());
+        }
+        return new ResponseEntity<>(bookings.getContent(), headers, HttpStatus.OK);
+    }
+
 }
 
 
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.status.BookingBatchMode;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BookingBatchResponseDto {
+    private BookingBatchMode mode;
+    private int created;
+    private int failed;
+    private List<BookingBatchResultDto> results;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingBatchResultDto {
+    private int index;
+    private Status status;
+    private BookingDto booking;
+    private String error;
+
+    public enum Status {
+        CREATED, FAILED, SKIPPED
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -11,6 +13,8 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
+@NoArgsConstructor
 public class BookingDto {
 
     private Long id;
@@ -19,4 +23,21 @@ public class BookingDto {
     private Item item;
     private User booker;
     private BookingStatus status;
+
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                      Long itemId, String itemName, String itemDescription, Boolean itemAvailable, Long requestId,
+                      Long ownerId, String ownerName, String ownerEmail,
+                      Long bookerId, String bookerName, String bookerEmail) {
+        this(id, start, end,
+                Item.builder()
+                        .id(itemId)
+                        .name(itemName)
+                        .owner(new User(ownerId, ownerName, ownerEmail))
+                        .description(itemDescription)
+                        .available(itemAvailable)
+                        .requestId(requestId)
+                        .build(),
+                new User(bookerId, bookerName, bookerEmail),
+                status);
+    }
 }
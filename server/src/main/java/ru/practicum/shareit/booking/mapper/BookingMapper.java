@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.mapper;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,6 +33,15 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingResponseDto toBookingResponseDto(BookingInterval interval) {
+        return BookingResponseDto.builder()
+                .id(interval.getId())
+                .bookerId(interval.getBookerId())
+                .start(interval.getStart())
+                .end(interval.getEnd())
+                .build();
+    }
+
     public static List<BookingDto> toBookingDtoList(List<Booking> bookings) {
         return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
     }
@@ -2,10 +2,13 @@ package ru.practicum.shareit.booking.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.proxy.HibernateProxyHelper;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -14,29 +17,59 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 
-@Data
+@Getter
+@Setter
+@ToString
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = "Booking.itemOwnerAndBooker",
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item.owner"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = @NamedSubgraph(name = "item.owner", attributeNodes = @NamedAttributeNode("owner")))
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
     @Column(name = "start_time", columnDefinition = "timestamp", nullable = false)
     private LocalDateTime start;
     @Column(name = "end_time", columnDefinition = "timestamp", nullable = false)
     private LocalDateTime end;
     @JoinColumn(name = "item_id", nullable = false)
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
     private Item item;
     @JoinColumn(name = "booker_id", nullable = false)
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
     private User booker;
     @Column(name = "booking_status")
     @Enumerated(EnumType.STRING)
     private BookingStatus bookingStatus;
+    @Version
+    private Long version;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || HibernateProxyHelper.getClassWithoutInitializingProxy(this)
+                != HibernateProxyHelper.getClassWithoutInitializingProxy(o)) {
+            return false;
+        }
+        return id != null && id.equals(((Booking) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Booking.class.hashCode();
+    }
 }
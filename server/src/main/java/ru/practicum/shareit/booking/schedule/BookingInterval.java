@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingInterval {
+    private final Long id;
+    private final Long itemId;
+    private final Long ownerId;
+    private final Long bookerId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking.schedule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.util.RebuildableIndexState;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+@Slf4j
+@Component
+public class ItemScheduleIndex {
+    private static final Comparator<BookingInterval> BY_START = Comparator.comparing(BookingInterval::getStart)
+            .thenComparing(BookingInterval::getId);
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final RebuildableIndexState<Map<Long, List<BookingInterval>>> schedules =
+            new RebuildableIndexState<>(new HashMap<>());
+    private volatile boolean ready;
+
+    public ItemScheduleIndex(BookingRepository bookingRepository,
+                             @Value("${booking-schedule.in-memory-index:false}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        schedules.rebuild(() -> {
+            List<BookingInterval> intervals = new ArrayList<>(bookingRepository.findAllApprovedIntervals());
+            intervals.sort(BY_START);
+            Map<Long, List<BookingInterval>> rebuilt = new HashMap<>();
+            intervals.forEach(interval -> rebuilt
+                    .computeIfAbsent(interval.getItemId(), key -> new ArrayList<>())
+                    .add(interval));
+            log.info("Индекс расписания вещей построен, подтверждённых бронирований: {}, вещей: {}",
+                    intervals.size(), rebuilt.size());
+            return rebuilt;
+        });
+        ready = true;
+    }
+
+    public void add(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        BookingInterval interval = new BookingInterval(booking.getId(), booking.getItem().getId(),
+                booking.getItem().getOwner().getId(), booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+        schedules.updateAfterCommit(current -> put(current, interval));
+    }
+
+    public void removeItem(Long itemId) {
+        if (!enabled) {
+            return;
+        }
+        schedules.updateAfterCommit(current -> current.remove(itemId));
+    }
+
+    public void removeUser(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        schedules.updateAfterCommit(current -> current.values().removeIf(schedule -> {
+            if (schedule.get(0).getOwnerId().equals(userId)) {
+                return true;
+            }
+            schedule.removeIf(interval -> interval.getBookerId().equals(userId));
+            return schedule.isEmpty();
+        }));
+    }
+
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return schedules.read(current -> {
+            List<BookingInterval> schedule = current.get(itemId);
+            if (schedule == null) {
+                return true;
+            }
+            int next = firstIndex(schedule, interval -> !interval.getStart().isBefore(end));
+            return next == 0 || !schedule.get(next - 1).getEnd().isAfter(start);
+        });
+    }
+
+    public Optional<BookingInterval> lastEndedBefore(Long itemId, LocalDateTime moment) {
+        return schedules.read(current -> {
+            List<BookingInterval> schedule = current.get(itemId);
+            if (schedule == null) {
+                return Optional.empty();
+            }
+            int firstNotEnded = firstIndex(schedule, interval -> !interval.getEnd().isBefore(moment));
+            return firstNotEnded == 0 ? Optional.empty() : Optional.of(schedule.get(firstNotEnded - 1));
+        });
+    }
+
+    public Optional<BookingInterval> firstEndingAfter(Long itemId, LocalDateTime moment) {
+        return schedules.read(current -> {
+            List<BookingInterval> schedule = current.get(itemId);
+            if (schedule == null) {
+                return Optional.empty();
+            }
+            int index = firstIndex(schedule, interval -> interval.getEnd().isAfter(moment));
+            return index == schedule.size() ? Optional.empty() : Optional.of(schedule.get(index));
+        });
+    }
+
+    public List<BookingInterval> findBetween(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return schedules.read(current -> {
+            List<BookingInterval> schedule = current.get(itemId);
+            if (schedule == null) {
+                return List.of();
+            }
+            List<BookingInterval> result = new ArrayList<>();
+            for (int i = firstIndex(schedule, interval -> interval.getEnd().isAfter(from));
+                 i < schedule.size() && schedule.get(i).getStart().isBefore(to); i++) {
+                result.add(schedule.get(i));
+            }
+            return result;
+        });
+    }
+
+    private static void put(Map<Long, List<BookingInterval>> current, BookingInterval interval) {
+        List<BookingInterval> schedule = current.computeIfAbsent(interval.getItemId(), key -> new ArrayList<>());
+        schedule.removeIf(existing -> existing.getId().equals(interval.getId()));
+        int position = firstIndex(schedule, existing -> BY_START.compare(existing, interval) > 0);
+        schedule.add(position, interval);
+    }
+
+    private static int firstIndex(List<BookingInterval> schedule, Predicate<BookingInterval> condition) {
+        int low = 0;
+        int high = schedule.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (condition.test(schedule.get(middle))) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
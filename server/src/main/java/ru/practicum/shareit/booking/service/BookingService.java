@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.BookingBatchResponseDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 
@@ -8,12 +10,18 @@ import java.util.List;
 public interface BookingService {
     BookingDto create(BookingRequestDto bookingRequestDto, Long userId);
 
+    BookingBatchResponseDto createBatch(List<BookingRequestDto> bookingRequestDtos, Long userId, String mode);
+
     BookingDto approve(Long bookingId, Long userId, Boolean approved);
 
     List<BookingDto> getAllByOwner(Long ownerId, String state, Integer from, Integer size);
 
     List<BookingDto> getAllByUser(Long userId, String state, Integer from, Integer size);
 
+    Slice<BookingDto> getAllByOwnerWithCursor(Long ownerId, String state, String cursor, Integer size);
+
+    Slice<BookingDto> getAllByUserWithCursor(Long userId, String state, String cursor, Integer size);
+
     BookingDto getByIdAndBookerId(Long bookingId, Long userId);
 
 }
@@ -2,29 +2,56 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.hibernate.Hibernate;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResponseDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
+import ru.practicum.shareit.booking.status.BookingBatchMode;
+import ru.practicum.shareit.booking.status.BookingState;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exceptions.BookingNotAvailableException;
 import ru.practicum.shareit.exceptions.BookingNotFoundException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
+import ru.practicum.shareit.exceptions.PaginationInvalidParamException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.booking.storage.BookingSpecifications.bookerIdIs;
+import static ru.practicum.shareit.booking.storage.BookingSpecifications.inState;
+import static ru.practicum.shareit.booking.storage.BookingSpecifications.itemOwnerIdIs;
+import static ru.practicum.shareit.util.Constants.BOOKING_BATCH_MAX_SIZE;
 import static ru.practicum.shareit.util.Pagination.getPaginationWithoutSort;
 
 
@@ -36,27 +63,22 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserIdFilter userIdFilter;
+    private final ItemScheduleIndex itemScheduleIndex;
 
     @Override
     public BookingDto create(BookingRequestDto bookingRequestDto, Long userId) {
         Item item = itemRepository
                 .findById(bookingRequestDto.getItemId())
                 .orElseThrow(() -> new ItemNotFoundException("Вещь не найдена"));
+        Hibernate.initialize(item.getOwner());
 
         User booker = userRepository
                 .findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
-        if (!item.getAvailable()) {
-            throw new BookingNotAvailableException("Вещь недоступна для бронирования");
-        }
-
-        if (item.getOwner().getId().equals(userId)) {
-            throw new UserNotFoundException("Вы не можете бронировать свою вещь");
-        }
-        if (bookingRequestDto.getStart().isAfter(bookingRequestDto.getEnd())
-                || bookingRequestDto.getStart().equals(bookingRequestDto.getEnd())
-                || bookingRequestDto.getEnd().isBefore(LocalDateTime.now())) {
-            throw new BookingNotAvailableException("Время бронировани неверное");
+        checkBookable(item, userId, bookingRequestDto.getStart(), bookingRequestDto.getEnd());
+        if (!isFree(item.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
+            throw new BookingNotAvailableException("Вещь уже забронирована на это время");
         }
         Booking booking = Booking.builder()
                 .bookingStatus(BookingStatus.WAITING)
@@ -71,8 +93,90 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    public BookingBatchResponseDto createBatch(List<BookingRequestDto> bookingRequestDtos, Long userId, String mode) {
+        BookingBatchMode batchMode = parseBatchMode(mode);
+        if (bookingRequestDtos == null || bookingRequestDtos.isEmpty()
+                || bookingRequestDtos.size() > BOOKING_BATCH_MAX_SIZE) {
+            throw new BookingNotAvailableException("Пакет должен содержать от 1 до " + BOOKING_BATCH_MAX_SIZE
+                    + " бронирований");
+        }
+        User booker = userRepository
+                .findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
+        Set<Long> itemIds = bookingRequestDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingRequestDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemIds.isEmpty() ? Map.of() : itemRepository.findAllWithOwnerByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<BookingInterval>> approvedIntervals = findApprovedIntervals(bookingRequestDtos, items.keySet());
+
+        BookingBatchResultDto[] results = new BookingBatchResultDto[bookingRequestDtos.size()];
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> batchIntervals = new HashMap<>();
+        for (int i = 0; i < bookingRequestDtos.size(); i++) {
+            BookingRequestDto bookingRequestDto = bookingRequestDtos.get(i);
+            try {
+                Item item = bookingRequestDto == null ? null : items.get(bookingRequestDto.getItemId());
+                if (item == null) {
+                    throw new ItemNotFoundException("Вещь не найдена");
+                }
+                checkBookable(item, userId, bookingRequestDto.getStart(), bookingRequestDto.getEnd());
+                if (!isFree(approvedIntervals, item.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
+                    throw new BookingNotAvailableException("Вещь уже забронирована на это время");
+                }
+                NavigableMap<LocalDateTime, LocalDateTime> itemBatchIntervals =
+                        batchIntervals.computeIfAbsent(item.getId(), key -> new TreeMap<>());
+                if (overlaps(itemBatchIntervals, bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
+                    throw new BookingNotAvailableException(
+                            "Бронирование пересекается с другим бронированием этой вещи в пакете");
+                }
+                itemBatchIntervals.put(bookingRequestDto.getStart(), bookingRequestDto.getEnd());
+                accepted.put(i, Booking.builder()
+                        .bookingStatus(BookingStatus.WAITING)
+                        .booker(booker)
+                        .item(item)
+                        .start(bookingRequestDto.getStart())
+                        .end(bookingRequestDto.getEnd())
+                        .build());
+            } catch (ItemNotFoundException | UserNotFoundException | BookingNotAvailableException e) {
+                results[i] = BookingBatchResultDto.builder()
+                        .index(i)
+                        .status(BookingBatchResultDto.Status.FAILED)
+                        .error(e.getMessage())
+                        .build();
+            }
+        }
+
+        int failed = results.length - accepted.size();
+        boolean rejected = failed > 0 && batchMode == BookingBatchMode.ALL_OR_NOTHING;
+        if (!rejected) {
+            bookingRepository.saveAll(accepted.values());
+        }
+        accepted.forEach((index, booking) -> results[index] = BookingBatchResultDto.builder()
+                .index(index)
+                .status(rejected ? BookingBatchResultDto.Status.SKIPPED : BookingBatchResultDto.Status.CREATED)
+                .booking(rejected ? null : BookingMapper.toBookingDto(booking))
+                .build());
+        int created = rejected ? 0 : accepted.size();
+        log.info("Пакет бронирований пользователя с id = {} обработан в режиме {}: создано {}, с ошибками {}",
+                userId, batchMode, created, failed);
+        return BookingBatchResponseDto.builder()
+                .mode(batchMode)
+                .created(created)
+                .failed(failed)
+                .results(List.of(results))
+                .build();
+    }
+
+    @Override
+    @Retryable(value = ConcurrencyFailureException.class,
+            maxAttemptsExpression = "${booking.approve.retry.max-attempts:5}",
+            backoff = @Backoff(delayExpression = "${booking.approve.retry.delay-ms:10}",
+                    multiplierExpression = "${booking.approve.retry.multiplier:2}", random = true))
     public BookingDto approve(Long bookingId, Long userId, Boolean approved) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExists(userId)) {
             throw new UserNotFoundException("Пользователь не найден");
         }
         Booking booking = bookingRepository.findById(bookingId)
@@ -88,92 +192,88 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingNotAvailableException("Только владелец вещи может подтвердить бронирование");
         }
 
+        if (approved) {
+            lockItemSchedule(booking);
+        }
+
         booking.setBookingStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        BookingDto bookingDto;
+        try {
+            bookingDto = BookingMapper.toBookingDto(bookingRepository.saveAndFlush(booking));
+        } catch (DataIntegrityViolationException e) {
+            log.error("Бронирование id = {} не подтверждено, пересечение с подтверждённым бронированием", bookingId);
+            throw new BookingNotAvailableException("Вещь уже забронирована на это время");
+        }
+        itemRepository.incrementActivityVersion(booking.getItem().getId());
+        if (approved) {
+            itemScheduleIndex.add(booking);
+        }
+        return bookingDto;
 
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getAllByOwner(Long ownerId, String state, Integer from, Integer size) {
-        if (!userRepository.existsById(ownerId)) {
+        if (!userExists(ownerId)) {
             throw new UserNotFoundException("Пользователь не найден");
         }
-        Page<Booking> bookings;
-        log.error("getAllByOwner ---- ----- FROM ==== {} SIZE ====== {}", from, size);
         Pageable pagWithoutSort = getPaginationWithoutSort(from, size);
-        switch (state.toUpperCase()) {
-            case "ALL":
-                bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId, pagWithoutSort);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(ownerId, LocalDateTime.now(), LocalDateTime.now(), pagWithoutSort);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(ownerId, LocalDateTime.now(), pagWithoutSort);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findByItemOwnerIdAndStartIsAfterOrderByStartDesc(ownerId, LocalDateTime.now(), pagWithoutSort);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findByItemOwnerIdAndBookingStatusOrderByStartDesc(ownerId, BookingStatus.WAITING, pagWithoutSort);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findByItemOwnerIdAndBookingStatusOrderByStartDesc(ownerId, BookingStatus.REJECTED, pagWithoutSort);
-                break;
-            default:
-                log.error("Запрос на получении информации о бронированиях вещей владельца не выполнен. Передан некорректный статус");
-                throw new BookingNotAvailableException("Unknown state: UNSUPPORTED_STATUS");
-        }
+        List<BookingDto> bookings = bookingRepository.findAllByFilter(
+                itemOwnerIdIs(ownerId).and(inState(parseState(state), LocalDateTime.now())), pagWithoutSort);
         log.info("Запрос на получении информации о бронированиях вещей владельца выполнен.");
-        return BookingMapper.toBookingDtoList(bookings.stream().collect(Collectors.toList()));
-
+        return bookings;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getAllByUser(Long userId, String state, Integer from, Integer size) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExists(userId)) {
             throw new UserNotFoundException("Пользователь не найден");
         }
-        Page<Booking> bookings;
-        log.error("getAllByUser --------- FROM ==== {} SIZE ====== {}", from, size);
         Pageable pagWithoutSort = getPaginationWithoutSort(from, size);
-        switch (state.toUpperCase()) {
-            case "ALL":
-                bookings = bookingRepository.findAllByBooker_IdOrderByStartDesc(userId, pagWithoutSort);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findAllByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId, LocalDateTime.now(), LocalDateTime.now(), pagWithoutSort);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(userId, LocalDateTime.now(), pagWithoutSort);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findAllByBooker_IdAndStartIsAfterOrderByStartDesc(userId, LocalDateTime.now(), pagWithoutSort);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findAllByBooker_IdAndBookingStatusOrderByStartDesc(userId, BookingStatus.WAITING, pagWithoutSort);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findAllByBooker_IdAndBookingStatusOrderByStartDesc(userId, BookingStatus.REJECTED, pagWithoutSort);
-                break;
-            default:
-                log.error("Запрос на получении информации о бронированиях пользователя не выполнен. Передан некорректный статус");
-                throw new BookingNotAvailableException("Unknown state: UNSUPPORTED_STATUS");
-        }
+        List<BookingDto> bookings = bookingRepository.findAllByFilter(
+                bookerIdIs(userId).and(inState(parseState(state), LocalDateTime.now())), pagWithoutSort);
         log.info("Запрос на получении информации о бронированиях пользователя выполнен.");
-        return BookingMapper.toBookingDtoList(bookings.stream().collect(Collectors.toList()));
+        return bookings;
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookingDto> getAllByOwnerWithCursor(Long ownerId, String state, String cursor, Integer size) {
+        if (!userExists(ownerId)) {
+            throw new UserNotFoundException("Пользователь не найден");
+        }
+        Slice<BookingDto> bookings = bookingRepository.findAllByFilterAfterCursor(
+                itemOwnerIdIs(ownerId).and(inState(parseState(state), LocalDateTime.now())),
+                KeysetCursor.decode(cursor), checkSize(size));
+        log.info("Запрос на получении информации о бронированиях вещей владельца по курсору выполнен.");
+        return bookings;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<BookingDto> getAllByUserWithCursor(Long userId, String state, String cursor, Integer size) {
+        if (!userExists(userId)) {
+            throw new UserNotFoundException("Пользователь не найден");
+        }
+        Slice<BookingDto> bookings = bookingRepository.findAllByFilterAfterCursor(
+                bookerIdIs(userId).and(inState(parseState(state), LocalDateTime.now())),
+                KeysetCursor.decode(cursor), checkSize(size));
+        log.info("Запрос на получении информации о бронированиях пользователя по курсору выполнен.");
+        return bookings;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public BookingDto getByIdAndBookerId(Long bookingId, Long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExists(userId)) {
             throw new UserNotFoundException("Пользователь не найден");
         }
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Бронирование не найдено"));
-        Item item = itemRepository.findById(booking.getId())
+        Item item = itemRepository.findById(booking.getItem().getId())
                 .orElseThrow(() -> new ItemNotFoundException("Вещь не найдена"));
         if (!item.getOwner().getId().equals(userId) && !booking.getBooker().getId().equals(userId)) {
             throw new UserNotFoundException("Id владельца вещи или id арендатора не совпадают с входящим параметром");
@@ -182,4 +282,90 @@ public class BookingServiceImpl implements BookingService {
 
     }
 
+    private void lockItemSchedule(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        itemRepository.lockById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Вещь не найдена"));
+        if (bookingRepository.existsApprovedOverlap(itemId, booking.getStart(), booking.getEnd())) {
+            log.error("Бронирование id = {} не подтверждено, вещь id = {} уже забронирована на это время",
+                    booking.getId(), itemId);
+            throw new BookingNotAvailableException("Вещь уже забронирована на это время");
+        }
+    }
+
+    private static void checkBookable(Item item, Long userId, LocalDateTime start, LocalDateTime end) {
+        if (!item.getAvailable()) {
+            throw new BookingNotAvailableException("Вещь недоступна для бронирования");
+        }
+        if (item.getOwner().getId().equals(userId)) {
+            throw new UserNotFoundException("Вы не можете бронировать свою вещь");
+        }
+        if (start == null || end == null || !start.isBefore(end) || end.isBefore(LocalDateTime.now())) {
+            throw new BookingNotAvailableException("Время бронировани неверное");
+        }
+    }
+
+    private Map<Long, List<BookingInterval>> findApprovedIntervals(List<BookingRequestDto> bookingRequestDtos,
+                                                                   Set<Long> itemIds) {
+        if (itemScheduleIndex.isReady() || itemIds.isEmpty()) {
+            return Map.of();
+        }
+        List<BookingRequestDto> periods = bookingRequestDtos.stream()
+                .filter(dto -> dto != null && dto.getStart() != null && dto.getEnd() != null)
+                .collect(Collectors.toList());
+        if (periods.isEmpty()) {
+            return Map.of();
+        }
+        LocalDateTime from = periods.stream().map(BookingRequestDto::getStart).min(Comparator.naturalOrder()).get();
+        LocalDateTime to = periods.stream().map(BookingRequestDto::getEnd).max(Comparator.naturalOrder()).get();
+        return bookingRepository.findApprovedIntervalsByItemIdsBetween(itemIds, from, to).stream()
+                .collect(Collectors.groupingBy(BookingInterval::getItemId));
+    }
+
+    private boolean isFree(Map<Long, List<BookingInterval>> approvedIntervals, Long itemId, LocalDateTime start,
+                           LocalDateTime end) {
+        if (itemScheduleIndex.isReady()) {
+            return itemScheduleIndex.isFree(itemId, start, end);
+        }
+        return approvedIntervals.getOrDefault(itemId, List.of()).stream()
+                .noneMatch(interval -> interval.getStart().isBefore(end) && interval.getEnd().isAfter(start));
+    }
+
+    private static boolean overlaps(NavigableMap<LocalDateTime, LocalDateTime> intervals, LocalDateTime start,
+                                    LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> previous = intervals.lowerEntry(end);
+        return previous != null && previous.getValue().isAfter(start);
+    }
+
+    private boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (itemScheduleIndex.isReady()) {
+            return itemScheduleIndex.isFree(itemId, start, end);
+        }
+        return !bookingRepository.existsApprovedOverlap(itemId, start, end);
+    }
+
+    private boolean userExists(Long userId) {
+        return userIdFilter.mightContain(userId) && userRepository.existsById(userId);
+    }
+
+    private static BookingBatchMode parseBatchMode(String mode) {
+        return BookingBatchMode.from(mode).orElseThrow(() -> {
+            log.error("Пакет бронирований не обработан. Передан некорректный режим {}", mode);
+            return new BookingNotAvailableException("Unknown mode: " + mode);
+        });
+    }
+
+    private static BookingState parseState(String state) {
+        return BookingState.from(state).orElseThrow(() -> {
+            log.error("Запрос на получении информации о бронированиях не выполнен. Передан некорректный статус");
+            return new BookingNotAvailableException("Unknown state: UNSUPPORTED_STATUS");
+        });
+    }
+
+    private static int checkSize(Integer size) {
+        if (size == null || size <= 0) {
+            throw new PaginationInvalidParamException("Неверные параметры пагинации.");
+        }
+        return size;
+    }
 }
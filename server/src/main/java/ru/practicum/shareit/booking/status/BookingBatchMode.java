@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.status;
+
+import java.util.Optional;
+
+public enum BookingBatchMode {
+    ALL_OR_NOTHING, PARTIAL;
+
+    public static Optional<BookingBatchMode> from(String stringMode) {
+        for (BookingBatchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(stringMode)) {
+                return Optional.of(mode);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.util.List;
+
+public interface BookingFilterRepository {
+    List<BookingDto> findAllByFilter(Specification<Booking> filter, Pageable pageable);
+
+    Slice<BookingDto> findAllByFilterAfterCursor(Specification<Booking> filter, KeysetCursor cursor, int size);
+}
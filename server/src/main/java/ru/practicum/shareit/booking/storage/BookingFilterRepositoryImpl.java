@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+import static ru.practicum.shareit.booking.storage.BookingSpecifications.startsBefore;
+
+public class BookingFilterRepositoryImpl implements BookingFilterRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDto> findAllByFilter(Specification<Booking> filter, Pageable pageable) {
+        return entityManager.createQuery(select(filter))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public Slice<BookingDto> findAllByFilterAfterCursor(Specification<Booking> filter, KeysetCursor cursor, int size) {
+        List<BookingDto> bookings = entityManager.createQuery(select(filter.and(startsBefore(cursor))))
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = bookings.size() > size;
+        return new SliceImpl<>(hasNext ? bookings.subList(0, size) : bookings, PageRequest.of(0, size), hasNext);
+    }
+
+    private CriteriaQuery<BookingDto> select(Specification<Booking> filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingDto> query = builder.createQuery(BookingDto.class);
+        Root<Booking> root = query.from(Booking.class);
+        Join<Booking, Item> item = root.join("item");
+        Join<Item, User> owner = item.join("owner");
+        Join<Booking, User> booker = root.join("booker");
+        Predicate predicate = filter.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return query.select(builder.construct(BookingDto.class,
+                        root.get("id"), root.get("start"), root.get("end"), root.get("bookingStatus"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("requestId"),
+                        owner.get("id"), owner.get("name"), owner.get("email"),
+                        booker.get("id"), booker.get("name"), booker.get("email")))
+                .orderBy(builder.desc(root.get("start")), builder.desc(root.get("id")));
+    }
+}
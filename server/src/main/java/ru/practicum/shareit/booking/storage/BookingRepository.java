@@ -1,36 +1,22 @@
 package ru.practicum.shareit.booking.storage;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
 import ru.practicum.shareit.booking.status.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    Page<Booking> findAllByBooker_IdOrderByStartDesc(Long bookerId, Pageable pageable);
-
-    Page<Booking> findAllByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(Long bookerId, LocalDateTime start, LocalDateTime end,Pageable pageable);
-
-    Page<Booking> findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(Long bookerId, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findAllByBooker_IdAndStartIsAfterOrderByStartDesc(Long bookerId, LocalDateTime start, Pageable pageable);
-
-    Page<Booking> findAllByBooker_IdAndBookingStatusOrderByStartDesc(Long bookerId, BookingStatus bookingStatus, Pageable pageable);
-
-    Page<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
-
-    Page<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(Long ownerId, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByItemOwnerIdAndStartIsAfterOrderByStartDesc(Long ownerId, LocalDateTime start, Pageable pageable);
-
-    Page<Booking> findByItemOwnerIdAndBookingStatusOrderByStartDesc(Long ownerId, BookingStatus bookingStatus, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingFilterRepository {
+    @Override
+    @EntityGraph("Booking.itemOwnerAndBooker")
+    Optional<Booking> findById(Long bookingId);
 
     List<Booking> findByItem_IdAndBooker_IdOrderByStartDesc(Long itemId, Long userId);
 
@@ -42,4 +28,38 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     Booking findFirstByItem_idAndStartAfterOrderByStartAsc(Long itemId, LocalDateTime now);
 
+    @Query(value = "SELECT ranked.id, ranked.start_time, ranked.end_time, ranked.item_id, ranked.booker_id, " +
+            "ranked.booking_status, ranked.version FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (" +
+            "PARTITION BY b.item_id, CASE WHEN b.end_time < ?2 THEN 0 ELSE 1 END " +
+            "ORDER BY CASE WHEN b.end_time < ?2 THEN b.end_time END DESC, b.start_time ASC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (?1) AND (b.end_time < ?2 OR b.start_time > ?2)) ranked " +
+            "WHERE ranked.rn = 1",
+            nativeQuery = true)
+    List<Booking> findLastAndNextBookingsByItemIds(Collection<Long> itemIds, LocalDateTime now);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.bookingStatus = ru.practicum.shareit.booking.status.BookingStatus.APPROVED " +
+            "AND b.start < ?3 AND b.end > ?2")
+    boolean existsApprovedOverlap(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT new ru.practicum.shareit.booking.schedule.BookingInterval(" +
+            "b.id, b.item.id, b.item.owner.id, b.booker.id, b.start, b.end) FROM Booking b " +
+            "WHERE b.bookingStatus = ru.practicum.shareit.booking.status.BookingStatus.APPROVED")
+    List<BookingInterval> findAllApprovedIntervals();
+
+    @Query("SELECT new ru.practicum.shareit.booking.schedule.BookingInterval(" +
+            "b.id, b.item.id, b.item.owner.id, b.booker.id, b.start, b.end) FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.bookingStatus = ru.practicum.shareit.booking.status.BookingStatus.APPROVED " +
+            "AND b.start < ?3 AND b.end > ?2 ORDER BY b.start")
+    List<BookingInterval> findApprovedIntervalsBetween(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT new ru.practicum.shareit.booking.schedule.BookingInterval(" +
+            "b.id, b.item.id, b.item.owner.id, b.booker.id, b.start, b.end) FROM Booking b " +
+            "WHERE b.item.id IN ?1 AND b.bookingStatus = ru.practicum.shareit.booking.status.BookingStatus.APPROVED " +
+            "AND b.start < ?3 AND b.end > ?2")
+    List<BookingInterval> findApprovedIntervalsByItemIdsBetween(Collection<Long> itemIds, LocalDateTime from,
+                                                                LocalDateTime to);
+
 }
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.status.BookingState;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+
+@UtilityClass
+public class BookingSpecifications {
+    public static Specification<Booking> bookerIdIs(Long bookerId) {
+        return (root, query, builder) -> builder.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> itemOwnerIdIs(Long ownerId) {
+        return (root, query, builder) -> builder.equal(item(root).get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        return (root, query, builder) -> {
+            switch (state) {
+                case CURRENT:
+                    return builder.and(builder.lessThan(root.get("start"), now),
+                            builder.greaterThan(root.get("end"), now));
+                case PAST:
+                    return builder.lessThan(root.get("end"), now);
+                case FUTURE:
+                    return builder.greaterThan(root.get("start"), now);
+                case WAITING:
+                    return builder.equal(root.get("bookingStatus"), BookingStatus.WAITING);
+                case REJECTED:
+                    return builder.equal(root.get("bookingStatus"), BookingStatus.REJECTED);
+                default:
+                    return null;
+            }
+        };
+    }
+
+    public static Specification<Booking> startsBefore(KeysetCursor cursor) {
+        return (root, query, builder) -> builder.or(
+                builder.lessThan(root.get("start"), cursor.getStart()),
+                builder.and(builder.equal(root.get("start"), cursor.getStart()),
+                        builder.lessThan(root.get("id"), cursor.getId())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static From<Booking, Item> item(Root<Booking> root) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("item"))
+                .map(join -> (From<Booking, Item>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("item"));
+    }
+}
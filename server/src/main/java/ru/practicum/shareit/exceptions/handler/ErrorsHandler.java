@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exceptions.handler;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -47,5 +48,12 @@ public class ErrorsHandler {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleConcurrencyFailureExc(final ConcurrencyFailureException e) {
+        log.error("Запрос не выполнен из-за параллельного изменения данных: {}", e.getMessage());
+        return Map.of("error", "Данные были изменены параллельным запросом, повторите попытку");
+    }
+
 }
 
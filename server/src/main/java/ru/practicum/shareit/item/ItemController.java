@@ -2,16 +2,21 @@ package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static ru.practicum.shareit.util.Constants.USER_ID;
 
@@ -20,6 +25,7 @@ import static ru.practicum.shareit.util.Constants.USER_ID;
 @RequestMapping("/items")
 @Slf4j
 public class ItemController {
+    private static final long DEFAULT_AVAILABILITY_DAYS = 30;
 
     private final ItemService itemService;
 
@@ -45,9 +51,31 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<ItemResponseDto> readByUserId(@PathVariable Long itemId, @RequestHeader(USER_ID) Long userId) {
+    public ResponseEntity<ItemResponseDto> readByUserId(@PathVariable Long itemId, @RequestHeader(USER_ID) Long userId,
+                                                        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                        String ifNoneMatch) {
         log.info("Получен запрос на получение  вещей пользователя по userID = {}, itemId = {}", userId, itemId);
-        return new ResponseEntity<>(itemService.readItemByItemIdAndUserId(itemId, userId), HttpStatus.OK);
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = itemService.matchItemETag(itemId, userId, ifNoneMatch);
+            if (eTag.isPresent()) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
+        }
+        ItemResponseDto itemResponseDto = itemService.readItemByItemIdAndUserId(itemId, userId);
+        return ResponseEntity.ok().eTag(itemResponseDto.getEtag()).body(itemResponseDto);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<List<AvailabilityWindowDto>> readAvailability(
+            @PathVariable Long itemId, @RequestHeader(USER_ID) Long userId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to) {
+        LocalDateTime rangeStart = from == null ? LocalDateTime.now() : from;
+        LocalDateTime rangeEnd = to == null ? rangeStart.plusDays(DEFAULT_AVAILABILITY_DAYS) : to;
+        log.info("Получен запрос на получение свободных окон вещи itemId = {}, с {} по {}", itemId, rangeStart, rangeEnd);
+        return ResponseEntity.ok(itemService.readItemAvailability(itemId, userId, rangeStart, rangeEnd));
     }
 
     @PatchMapping("/{itemId}")
@@ -26,4 +26,9 @@ public class ItemDto {
     private BookingResponseDto lastBooking;
     private BookingResponseDto nextBooking;
     private List<CommentResponseDto> comments;
+
+    public ItemDto(Long id, String name, String description, Boolean available, Long requestId,
+                   Long ownerId, String ownerName, String ownerEmail) {
+        this(id, name, new User(ownerId, ownerName, ownerEmail), description, available, requestId, null, null, null);
+    }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
@@ -18,5 +19,7 @@ public class ItemResponseDto {
     private BookingResponseDto nextBooking;
     private List<CommentResponseDto> comments;
     private Long requestId;
+    @JsonIgnore
+    private String etag;
 
 }
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.item.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.proxy.HibernateProxyHelper;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -11,19 +15,28 @@ import javax.persistence.*;
 @Builder
 @Getter
 @Setter
+@ToString
 @Entity
 @Table(name = "items")
+@NamedEntityGraph(name = "Item.owner", attributeNodes = @NamedAttributeNode("owner"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Item.CACHE_REGION)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Item {
+    public static final String CACHE_REGION = "items";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
     @Column(name = "item_name", nullable = false)
     private String name;
     @JoinColumn(name = "owner_id", referencedColumnName = "id", nullable = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    @ToString.Exclude
     private User owner;
     @Column(name = "item_description")
     private String description;
@@ -31,4 +44,26 @@ public class Item {
     private Boolean available;
     @Column(name = "request_id")
     private Long requestId;
+    @Version
+    private Long version;
+    @Column(name = "activity_version", nullable = false)
+    @Builder.Default
+    private Long activityVersion = 0L;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || HibernateProxyHelper.getClassWithoutInitializingProxy(this)
+                != HibernateProxyHelper.getClassWithoutInitializingProxy(o)) {
+            return false;
+        }
+        return id != null && id.equals(((Item) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Item.class.hashCode();
+    }
 }
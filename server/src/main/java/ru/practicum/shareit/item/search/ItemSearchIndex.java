@@ -0,0 +1,228 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.util.RebuildableIndexState;
+
+import java.util.*;
+
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final RebuildableIndexState<Documents> state = new RebuildableIndexState<>(new Documents());
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${item-search.in-memory-index:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        state.rebuild(() -> {
+            List<ItemTextView> items = new ArrayList<>(itemRepository.findAllByAvailableTrue());
+            items.sort(Comparator.comparing(ItemTextView::getId));
+            Documents documents = new Documents();
+            items.forEach(item -> documents.put(item.getId(), item.getOwnerId(), item.getName(), item.getDescription()));
+            log.info("Поисковый индекс вещей построен, проиндексировано вещей: {}", items.size());
+            return documents;
+        });
+        ready = true;
+    }
+
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+        Long itemId = item.getId();
+        Long ownerId = item.getOwner() == null ? null : item.getOwner().getId();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        String name = item.getName();
+        String description = item.getDescription();
+        state.updateAfterCommit(documents -> {
+            documents.delete(itemId);
+            if (available) {
+                documents.put(itemId, ownerId, name, description);
+            }
+        });
+    }
+
+    public void remove(Long itemId) {
+        if (!enabled) {
+            return;
+        }
+        state.updateAfterCommit(documents -> documents.delete(itemId));
+    }
+
+    public void removeOwner(Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        state.updateAfterCommit(documents -> documents.deleteOwnedBy(ownerId));
+    }
+
+    public List<Long> search(String text, long offset, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        List<Long> ranked = state.read(documents -> documents.rank(query));
+        if (offset >= ranked.size()) {
+            return List.of();
+        }
+        return new ArrayList<>(ranked.subList((int) offset, (int) Math.min(ranked.size(), offset + limit)));
+    }
+
+    public Map<String, Object> checkConsistency() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", enabled);
+        report.put("ready", isReady());
+        if (!isReady()) {
+            return report;
+        }
+        List<ItemTextView> items = itemRepository.findAllByAvailableTrue();
+        return state.read(documents -> {
+            Set<Long> expectedIds = new HashSet<>();
+            int missing = 0;
+            int outdated = 0;
+            for (ItemTextView item : items) {
+                expectedIds.add(item.getId());
+                IndexedText document = documents.byId.get(item.getId());
+                if (document == null) {
+                    missing++;
+                } else if (!document.equals(new IndexedText(item.getOwnerId(), item.getName(), item.getDescription()))) {
+                    outdated++;
+                }
+            }
+            int indexed = documents.byId.size();
+            int stale = indexed - (expectedIds.size() - missing);
+            report.put("indexedItems", indexed);
+            report.put("databaseItems", expectedIds.size());
+            report.put("missing", missing);
+            report.put("stale", stale);
+            report.put("outdated", outdated);
+            report.put("consistent", missing == 0 && stale == 0 && outdated == 0);
+            return report;
+        });
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Documents {
+        private final Map<String, LongPostingList> postings = new HashMap<>();
+        private final Map<Long, IndexedText> byId = new HashMap<>();
+        private final LongPostingList allIds = new LongPostingList();
+
+        private List<Long> rank(String query) {
+            List<Long> nameMatches = new ArrayList<>();
+            List<Long> descriptionMatches = new ArrayList<>();
+            for (long id : candidates(query)) {
+                IndexedText document = byId.get(id);
+                if (document.name.contains(query)) {
+                    nameMatches.add(id);
+                } else if (document.description.contains(query)) {
+                    descriptionMatches.add(id);
+                }
+            }
+            nameMatches.addAll(descriptionMatches);
+            return nameMatches;
+        }
+
+        private long[] candidates(String query) {
+            if (query.length() < GRAM_LENGTH) {
+                return allIds.toArray();
+            }
+            List<LongPostingList> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                LongPostingList list = postings.get(gram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(LongPostingList::size));
+            long[] result = lists.get(0).toArray();
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = lists.get(i).intersect(result);
+            }
+            return result;
+        }
+
+        private void put(Long itemId, Long ownerId, String name, String description) {
+            IndexedText document = new IndexedText(ownerId, name, description);
+            byId.put(itemId, document);
+            allIds.add(itemId);
+            for (String gram : document.allGrams()) {
+                postings.computeIfAbsent(gram, key -> new LongPostingList()).add(itemId);
+            }
+        }
+
+        private void delete(Long itemId) {
+            IndexedText document = byId.remove(itemId);
+            if (document == null) {
+                return;
+            }
+            allIds.remove(itemId);
+            for (String gram : document.allGrams()) {
+                LongPostingList list = postings.get(gram);
+                if (list != null && list.remove(itemId) && list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        private void deleteOwnedBy(Long ownerId) {
+            List<Long> ownedIds = new ArrayList<>();
+            byId.forEach((itemId, document) -> {
+                if (ownerId.equals(document.ownerId)) {
+                    ownedIds.add(itemId);
+                }
+            });
+            ownedIds.forEach(this::delete);
+        }
+    }
+
+    @EqualsAndHashCode
+    private static final class IndexedText {
+        private final Long ownerId;
+        private final String name;
+        private final String description;
+
+        private IndexedText(Long ownerId, String name, String description) {
+            this.ownerId = ownerId;
+            this.name = name == null ? "" : name.toLowerCase(Locale.ROOT);
+            this.description = description == null ? "" : description.toLowerCase(Locale.ROOT);
+        }
+
+        private Set<String> allGrams() {
+            Set<String> grams = grams(name);
+            grams.addAll(grams(description));
+            return grams;
+        }
+    }
+}
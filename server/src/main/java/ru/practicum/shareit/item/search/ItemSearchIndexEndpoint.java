@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "itemsearch")
+@RequiredArgsConstructor
+public class ItemSearchIndexEndpoint {
+    private final ItemSearchIndex itemSearchIndex;
+
+    @ReadOperation
+    public Map<String, Object> checkConsistency() {
+        return itemSearchIndex.checkConsistency();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        itemSearchIndex.rebuild();
+        return itemSearchIndex.checkConsistency();
+    }
+}
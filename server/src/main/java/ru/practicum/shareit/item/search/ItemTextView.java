@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.search;
+
+public interface ItemTextView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Long getOwnerId();
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+public class LongPostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public boolean add(long id) {
+        int insertAt = size;
+        if (size > 0 && id <= ids[size - 1]) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return false;
+            }
+            insertAt = -position - 1;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    public long[] intersect(long[] sortedIds) {
+        long[] result = new long[Math.min(size, sortedIds.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < sortedIds.length) {
+            if (ids[i] < sortedIds[j]) {
+                i++;
+            } else if (ids[i] > sortedIds[j]) {
+                j++;
+            } else {
+                result[count++] = ids[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemService {
     ItemDto createItem(ItemDto itemDto, Long userId, Long requestId);
@@ -14,6 +18,10 @@ public interface ItemService {
 
     ItemResponseDto readItemByItemIdAndUserId(Long itemId, Long userId);
 
+    Optional<String> matchItemETag(Long itemId, Long userId, String ifNoneMatch);
+
+    List<AvailabilityWindowDto> readItemAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to);
+
     ItemDto updateItem(ItemDto itemDto, Long userId, Long itemId);
 
     void deleteById(Long itemId);
@@ -24,4 +32,6 @@ public interface ItemService {
 
     List<ItemDto> findAllItemByRequest(Long requestId);
 
+    List<ItemDto> findAllItemByRequests(Collection<Long> requestIds);
+
 }
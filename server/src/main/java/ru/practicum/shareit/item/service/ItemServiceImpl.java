@@ -5,13 +5,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exceptions.BookingNotAvailableException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -20,15 +25,24 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.util.EntityTags;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.springframework.data.domain.Sort.Direction.DESC;
@@ -39,17 +53,27 @@ import static ru.practicum.shareit.util.Pagination.getPaginationWithoutSort;
 @Service
 @Transactional
 public class ItemServiceImpl implements ItemService {
+    private static final long MAX_AVAILABILITY_DAYS = 366;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemScheduleIndex itemScheduleIndex;
 
     @Autowired
-    public ItemServiceImpl(ItemRepository itemRepository, UserRepository userRepository, BookingRepository bookingRepository, CommentRepository commentRepository) {
+    public ItemServiceImpl(ItemRepository itemRepository, UserRepository userRepository, BookingRepository bookingRepository,
+                           CommentRepository commentRepository, ItemSearchIndex itemSearchIndex,
+                           ItemRequestRepository itemRequestRepository, ItemScheduleIndex itemScheduleIndex) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemScheduleIndex = itemScheduleIndex;
     }
 
     @Override
@@ -62,29 +86,49 @@ public class ItemServiceImpl implements ItemService {
         if (requestId != null) {
             itemDto.setRequestId(requestId);
         }
-        Item item = ItemMapper.toItem(itemDto, user);
+        Item item = itemRepository.save(ItemMapper.toItem(itemDto, user));
+        itemSearchIndex.index(item);
+        touchItemRequest(item);
         log.info("Успешно выполнен запрос на создание вещи {}", itemDto);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        return ItemMapper.toItemDto(item);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemResponseDto> readItemsOwnedByUserId(Long userId, Integer from, Integer size) {
 
         List<ItemResponseDto> itemResponseDtoList = new ArrayList<>();
         Pageable paginationWithoutSort = getPaginationWithoutSort(from, size);
-        List<Item> items = itemRepository.findItemsByOwnerIdOrderByIdAsc(userId, paginationWithoutSort)
-                .stream()
-                .collect(Collectors.toList());
+        List<Item> items = itemRepository.findItemsByOwnerIdOrderByIdAsc(userId, paginationWithoutSort);
         if (!userRepository.existsById(userId)) {
             log.error("Не выполнен запрос на получение информации о вещах, которыми владеет пользователь с id = {} ", userId);
             throw new UserNotFoundException("Пользователь не найден");
         }
+        if (items.isEmpty()) {
+            return itemResponseDtoList;
+        }
+
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Comment>> commentsByItemId = commentRepository.findAllByItemIdInOrderByCreatedDesc(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        for (Booking booking : bookingRepository.findLastAndNextBookingsByItemIds(itemIds, now)) {
+            if (booking.getEnd().isBefore(now)) {
+                lastBookings.put(booking.getItem().getId(), booking);
+            } else {
+                nextBookings.put(booking.getItem().getId(), booking);
+            }
+        }
+
         for (Item item : items) {
             List<CommentResponseDto> comments = CommentMapper
-                    .toListComment(commentRepository.findAllByItemIdOrderByCreatedDesc(item.getId()));
+                    .toListComment(commentsByItemId.getOrDefault(item.getId(), List.of()));
             itemResponseDtoList.add(toItemResponseDto(item,
-                    bookingRepository.findFirstByItem_idAndEndBeforeOrderByEndDesc(item.getId(), LocalDateTime.now()),
-                    bookingRepository.findFirstByItem_idAndStartAfterOrderByStartAsc(item.getId(), LocalDateTime.now()),
+                    lastBookings.get(item.getId()),
+                    nextBookings.get(item.getId()),
                     comments));
         }
 
@@ -93,32 +137,92 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemResponseDto readItemByItemIdAndUserId(Long itemId, Long userId) {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException("Вещь не найдена"));
         List<CommentResponseDto> comments = CommentMapper.toListComment(commentRepository.findAllByItemIdOrderByCreatedDesc(itemId));
         ItemResponseDto itemResponseDto = toItemResponseDto(item, null, null, comments);
 
         if (!item.getOwner().getId().equals(userId)) {
+            itemResponseDto.setEtag(itemETag(item, false, null));
             return itemResponseDto;
         }
 
-        List<Booking> lastBooking = bookingRepository.findTop1BookingByItemIdAndEndIsBeforeAndBookingStatusIs(
-                itemId, LocalDateTime.now(), BookingStatus.APPROVED, Sort.by(DESC, "end"));
-        List<Booking> nextBooking = bookingRepository.findTop1BookingByItemIdAndEndIsAfterAndBookingStatusIs(
-                itemId, LocalDateTime.now(), BookingStatus.APPROVED, Sort.by(Sort.Direction.ASC, "end"));
+        LocalDateTime now = LocalDateTime.now();
+        Optional<BookingResponseDto> lastBooking;
+        Optional<BookingResponseDto> nextBooking;
+        if (itemScheduleIndex.isReady()) {
+            lastBooking = itemScheduleIndex.lastEndedBefore(itemId, now).map(BookingMapper::toBookingResponseDto);
+            nextBooking = itemScheduleIndex.firstEndingAfter(itemId, now).map(BookingMapper::toBookingResponseDto);
+        } else {
+            lastBooking = bookingRepository.findTop1BookingByItemIdAndEndIsBeforeAndBookingStatusIs(
+                            itemId, now, BookingStatus.APPROVED, Sort.by(DESC, "end"))
+                    .stream().findFirst().map(BookingMapper::toBookingResponseDto);
+            nextBooking = bookingRepository.findTop1BookingByItemIdAndEndIsAfterAndBookingStatusIs(
+                            itemId, now, BookingStatus.APPROVED, Sort.by(Sort.Direction.ASC, "end"))
+                    .stream().findFirst().map(BookingMapper::toBookingResponseDto);
+        }
 
-        if (lastBooking.isEmpty() && !nextBooking.isEmpty()) {
-            itemResponseDto.setLastBooking(BookingMapper.toBookingResponseDto(nextBooking.get(0)));
+        if (lastBooking.isEmpty() && nextBooking.isPresent()) {
+            itemResponseDto.setLastBooking(nextBooking.get());
             itemResponseDto.setNextBooking(null);
-        } else if (!lastBooking.isEmpty() && !nextBooking.isEmpty()) {
-            itemResponseDto.setLastBooking(BookingMapper.toBookingResponseDto(lastBooking.get(0)));
-            itemResponseDto.setNextBooking(BookingMapper.toBookingResponseDto(nextBooking.get(0)));
+        } else if (lastBooking.isPresent() && nextBooking.isPresent()) {
+            itemResponseDto.setLastBooking(lastBooking.get());
+            itemResponseDto.setNextBooking(nextBooking.get());
         }
+        itemResponseDto.setEtag(itemETag(item, true, nextBooking.map(BookingResponseDto::getEnd).orElse(null)));
         log.info("Успешно выполнен получение вещи c id = {}, у пользователя с id = {}", itemId, userId);
         return itemResponseDto;
 
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> matchItemETag(Long itemId, Long userId, String ifNoneMatch) {
+        Item item = itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException("Вещь не найдена"));
+        boolean owner = item.getOwner().getId().equals(userId);
+        long now = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        return EntityTags.parse(ifNoneMatch)
+                .stream()
+                .filter(tag -> isCurrentItemETag(tag, item, owner, now))
+                .findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailabilityWindowDto> readItemAvailability(Long itemId, Long userId,
+                                                            LocalDateTime from, LocalDateTime to) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("Пользователь не найден");
+        }
+        Item item = itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException("Вещь не найдена"));
+        if (!from.isBefore(to) || from.plusDays(MAX_AVAILABILITY_DAYS).isBefore(to)) {
+            throw new BookingNotAvailableException("Интервал должен быть непустым и не длиннее "
+                    + MAX_AVAILABILITY_DAYS + " дней");
+        }
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return List.of();
+        }
+        List<BookingInterval> bookings = itemScheduleIndex.isReady()
+                ? itemScheduleIndex.findBetween(itemId, from, to)
+                : bookingRepository.findApprovedIntervalsBetween(itemId, from, to);
+        List<AvailabilityWindowDto> windows = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (BookingInterval booking : bookings) {
+            if (booking.getStart().isAfter(cursor)) {
+                windows.add(new AvailabilityWindowDto(cursor, booking.getStart()));
+            }
+            if (booking.getEnd().isAfter(cursor)) {
+                cursor = booking.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            windows.add(new AvailabilityWindowDto(cursor, to));
+        }
+        log.info("Успешно выполнен запрос на получение свободных окон вещи c id = {} с {} по {}", itemId, from, to);
+        return windows;
+    }
+
     @Override
     public ItemDto updateItem(ItemDto itemDto, Long userId, Long itemId) {
         if (!userRepository.existsById(userId)) {
@@ -143,26 +247,48 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        return toItemDto(itemRepository.save(item));
+        Item updatedItem = itemRepository.save(item);
+        itemSearchIndex.index(updatedItem);
+        touchItemRequest(updatedItem);
+        return toItemDto(updatedItem);
     }
 
     @Override
     public void deleteById(Long itemId) {
-        if (!itemRepository.existsById(itemId)) {
-            log.error("Не выполнен запрос на получение информации о вещи по id = {} в методе deleteById", itemId);
-            throw new ItemNotFoundException("Вещь не найдена");
-        }
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> {
+                    log.error("Не выполнен запрос на получение информации о вещи по id = {} в методе deleteById", itemId);
+                    return new ItemNotFoundException("Вещь не найдена");
+                });
         log.info("Успешно выполнен запрос на удаление информации о вещи по id = {} в методе deleteById", itemId);
-        itemRepository.deleteById(itemId);
+        itemRepository.delete(item);
+        itemSearchIndex.remove(itemId);
+        itemScheduleIndex.removeItem(itemId);
+        touchItemRequest(item);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> search(String text, Integer from, Integer size) {
         if (text == null || text.isBlank()) {
             return List.of();
         }
         Pageable paginationWithoutSort = getPaginationWithoutSort(from, size);
-        return toItemListDto(itemRepository.search(text, paginationWithoutSort).stream().collect(Collectors.toList()));
+        if (itemSearchIndex.isReady()) {
+            List<Long> itemIds = itemSearchIndex.search(text, paginationWithoutSort.getOffset(),
+                    paginationWithoutSort.getPageSize());
+            if (itemIds.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, ItemDto> itemsById = itemRepository.findAllByIdIn(itemIds)
+                    .stream()
+                    .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+            return itemIds.stream()
+                    .map(itemsById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+        return itemRepository.search(text, paginationWithoutSort);
     }
 
     @Override
@@ -188,7 +314,9 @@ public class ItemServiceImpl implements ItemService {
                         .author(user)
                         .text(commentRequestDto.getText())
                         .build();
-                return CommentMapper.toResponseDto(commentRepository.save(comment));
+                CommentResponseDto commentResponseDto = CommentMapper.toResponseDto(commentRepository.save(comment));
+                itemRepository.incrementActivityVersion(itemId);
+                return commentResponseDto;
             } else {
                 log.error("Не выполнен запрос на создание комментария");
                 throw new BookingNotAvailableException("Бронирование не подтверждено, не завершено или отклонено. Невозможно оставить комментарий.");
@@ -200,8 +328,48 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> findAllItemByRequest(Long requestId) {
         return toItemListDto(itemRepository.findAllByRequestId(requestId));
     }
-}
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> findAllItemByRequests(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return List.of();
+        }
+        return toItemListDto(itemRepository.findAllByRequestIdIn(requestIds));
+    }
+
+    private void touchItemRequest(Item item) {
+        if (item.getRequestId() != null) {
+            itemRequestRepository.incrementItemsVersion(item.getRequestId());
+        }
+    }
+
+    private static String itemETag(Item item, boolean owner, LocalDateTime validUntil) {
+        return EntityTags.of(item.getId(), item.getVersion(), item.getActivityVersion(),
+                owner ? "o" + (validUntil == null ? 0 : validUntil.toEpochSecond(ZoneOffset.UTC)) : "u");
+    }
+
+    private static boolean isCurrentItemETag(String tag, Item item, boolean owner, long now) {
+        String[] parts = EntityTags.split(tag);
+        if (parts.length != 4 || !EntityTags.of(parts[0], parts[1], parts[2])
+                .equals(EntityTags.of(item.getId(), item.getVersion(), item.getActivityVersion()))) {
+            return false;
+        }
+        if (!owner) {
+            return "u".equals(parts[3]);
+        }
+        if (!parts[3].startsWith("o")) {
+            return false;
+        }
+        try {
+            long validUntil = Long.parseLong(parts[3].substring(1));
+            return validUntil == 0 || now < validUntil;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
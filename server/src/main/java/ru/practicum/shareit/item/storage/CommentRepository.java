@@ -1,10 +1,20 @@
 package ru.practicum.shareit.item.storage;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph("Comment.author")
     List<Comment> findAllByItemIdOrderByCreatedDesc(Long itemId);
+
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author a " +
+            "WHERE c.item.id IN ?1 " +
+            "ORDER BY c.created DESC")
+    List<Comment> findAllByItemIdInOrderByCreatedDesc(Collection<Long> itemIds);
 }
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.item.storage;
+
+public interface ItemActivityRepository {
+    void incrementActivityVersion(Long itemId);
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.storage;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class ItemActivityRepositoryImpl implements ItemActivityRepository {
+    private static final String INCREMENT_ACTIVITY_VERSION =
+            "UPDATE items SET activity_version = activity_version + 1 WHERE id = ?1";
+    private static final String ACTIVITY_QUERY_SPACE = "items_activity";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void incrementActivityVersion(Long itemId) {
+        entityManager.createNativeQuery(INCREMENT_ACTIVITY_VERSION)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(ACTIVITY_QUERY_SPACE)
+                .setParameter(1, itemId)
+                .executeUpdate();
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Item.class, itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Item.class, itemId);
+                }
+            });
+        }
+    }
+}
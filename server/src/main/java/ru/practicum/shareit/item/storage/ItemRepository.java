@@ -1,29 +1,57 @@
 package ru.practicum.shareit.item.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemTextView;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-    Page<Item> findItemsByOwnerIdOrderByIdAsc(Long userId, Pageable pageable);
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository, ItemActivityRepository {
+    List<Item> findItemsByOwnerIdOrderByIdAsc(Long userId, Pageable pageable);
 
+    @Override
+    @EntityGraph("Item.owner")
+    Optional<Item> findById(Long itemId);
 
-    @Query(value = "SELECT i FROM Item i " +
+    @EntityGraph("Item.owner")
+    List<Item> findAllByRequestId(Long requestId);
+
+    @Query("SELECT i FROM Item i " +
             "JOIN FETCH i.owner o " +
-            "WHERE i.available = true" +
-            " AND (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%'))" +
-            " OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')))",
-            countQuery = "SELECT COUNT(i) FROM Item i " +
-                    "JOIN i.owner o " +
-                    "WHERE i.available = true" +
-                    " AND (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%'))" +
-                    " OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')))")
-    Page<Item> search(String text, Pageable pageable);
+            "WHERE i.requestId IN ?1")
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 
-    List<Item> findAllByRequestId(Long requestId);
+    @Query("SELECT i FROM Item i " +
+            "JOIN FETCH i.owner o " +
+            "WHERE i.id IN ?1")
+    List<Item> findAllWithOwnerByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(" +
+            "i.id, i.name, i.description, i.available, i.requestId, o.id, o.name, o.email) " +
+            "FROM Item i " +
+            "JOIN i.owner o " +
+            "WHERE i.id IN ?1")
+    List<ItemDto> findAllByIdIn(Collection<Long> ids);
+
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.owner.id AS ownerId " +
+            "FROM Item i " +
+            "WHERE i.available = true")
+    List<ItemTextView> findAllByAvailableTrue();
+
+    @Query(value = "SELECT id FROM items WHERE id = ?1 FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(Long itemId);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.activityVersion = i.activityVersion + 1 " +
+            "WHERE i.id IN (SELECT c.item.id FROM Comment c WHERE c.author.id = ?1) " +
+            "OR i.id IN (SELECT b.item.id FROM Booking b WHERE b.booker.id = ?1)")
+    void incrementActivityVersionByParticipantId(Long userId);
 
 }
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+    private static final String SEARCH_FILTER = "SELECT new ru.practicum.shareit.item.dto.ItemDto(" +
+            "i.id, i.name, i.description, i.available, i.requestId, o.id, o.name, o.email) " +
+            "FROM Item i " +
+            "JOIN i.owner o " +
+            "WHERE i.available = true" +
+            " AND (LOWER(i.name) LIKE CONCAT('%', LOWER(:text), '%')" +
+            " OR LOWER(i.description) LIKE CONCAT('%', LOWER(:text), '%')) ";
+    private static final String TRIGRAM_RANK = "ORDER BY " +
+            "2 * FUNCTION('word_similarity', LOWER(:text), LOWER(i.name))" +
+            " + FUNCTION('word_similarity', LOWER(:text), LOWER(i.description)) DESC, i.id ASC";
+    private static final String NAME_MATCH_RANK = "ORDER BY " +
+            "CASE WHEN LOWER(i.name) LIKE CONCAT('%', LOWER(:text), '%') THEN 0 ELSE 1 END ASC, i.id ASC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${item-search.trigram-enabled:false}")
+    private boolean trigramEnabled;
+
+    @Override
+    public List<ItemDto> search(String text, Pageable pageable) {
+        return entityManager.createQuery(SEARCH_FILTER + (trigramEnabled ? TRIGRAM_RANK : NAME_MATCH_RANK), ItemDto.class)
+                .setParameter("text", text)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
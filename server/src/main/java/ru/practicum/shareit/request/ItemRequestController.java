@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,7 @@ import ru.practicum.shareit.request.dto.ItemRequestPostDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
+import java.util.Optional;
 
 import static ru.practicum.shareit.util.Constants.USER_ID;
 
@@ -56,9 +58,21 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ResponseEntity<ItemRequestDto> readOneConcreteItemRequest(@RequestHeader(name = USER_ID) Long requesterId,
-                                                                     @PathVariable Long requestId) {
+                                                                     @PathVariable Long requestId,
+                                                                     @RequestHeader(name = HttpHeaders.IF_NONE_MATCH,
+                                                                             required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = itemRequestService.matchItemRequestETag(requesterId, requestId, ifNoneMatch);
+            if (eTag.isPresent()) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag.get())
+                        .build();
+            }
+        }
+        ItemRequestDto itemRequestDto = itemRequestService.readOneConcreteItemRequest(requesterId, requestId);
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(itemRequestService.readOneConcreteItemRequest(requesterId, requestId));
+                .eTag(itemRequestDto.getEtag())
+                .body(itemRequestDto);
     }
 }
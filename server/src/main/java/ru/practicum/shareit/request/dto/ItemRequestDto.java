@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.model.User;
@@ -24,4 +25,6 @@ public class ItemRequestDto {
     private LocalDateTime created;
     @Builder.Default
     private List<ItemDto> items = new ArrayList<>();
+    @JsonIgnore
+    private String etag;
 }
@@ -17,11 +17,15 @@ import java.time.LocalDateTime;
 @Table(name = "item_requests")
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_requests_seq")
+    @SequenceGenerator(name = "item_requests_seq", sequenceName = "item_requests_seq", allocationSize = 50)
     private Long id;
     private String description;
     @Column(name = "requester_id")
     private Long requesterId;
     private LocalDateTime created;
+    @Column(name = "items_version", nullable = false)
+    @Builder.Default
+    private Long itemsVersion = 0L;
 
 }
@@ -4,6 +4,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestPostDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestService {
 
@@ -15,4 +16,6 @@ public interface ItemRequestService {
 
     ItemRequestDto readOneConcreteItemRequest(Long requesterId, Long requestId);
 
+    Optional<String> matchItemRequestETag(Long requesterId, Long requestId, String ifNoneMatch);
+
 }
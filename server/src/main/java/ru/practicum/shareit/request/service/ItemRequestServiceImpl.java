@@ -2,20 +2,25 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.ItemRequestNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestPostDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.util.EntityTags;
 
-import javax.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.request.mapper.ItemRequestMapper.*;
@@ -29,6 +34,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemService itemService;
+    private final UserIdFilter userIdFilter;
 
     @Override
     public ItemRequestDto createItemRequest(Long requesterId, ItemRequestPostDto itemRequestPostDto) {
@@ -39,44 +45,77 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> readAllOtherItemRequests(Long requesterId, Integer from, Integer size) {
         checkUserExists(requesterId);
         Pageable pageWithSort = getPaginationWithSortDesc(from, size);
-        Page<ItemRequest> itemRequestsOtherUsers = itemRequestRepository
+        List<ItemRequest> itemRequestsOtherUsers = itemRequestRepository
                 .findAllByRequesterIdNot(requesterId, pageWithSort);
-        List<ItemRequestDto> itemRequestDto = toListItemRequestDto(itemRequestsOtherUsers.stream()
-                .collect(Collectors.toList()));
-        itemRequestDto.forEach(requestDto -> requestDto.setItems(itemService.findAllItemByRequest(requestDto.getId())));
+        List<ItemRequestDto> itemRequestDto = toListItemRequestDto(itemRequestsOtherUsers);
+        attachItems(itemRequestDto);
         log.info("Информация о запросах на вещи от других пользователей успешно получена - requester_id: {}", requesterId);
         return itemRequestDto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> readOwnItemRequestsById(Long requesterId) {
         checkUserExists(requesterId);
         List<ItemRequestDto> ownerRequests = toListItemRequestDto(itemRequestRepository
                 .findAllByRequesterIdOrderByCreatedDesc(requesterId));
-        ownerRequests.forEach(requestDto -> requestDto.setItems(itemService.findAllItemByRequest(requestDto.getId())));
+        attachItems(ownerRequests);
         log.info("Информация о собственных запросах на вещи успешно получена - requester_id: {}", requesterId);
         return ownerRequests;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto readOneConcreteItemRequest(Long requesterId, Long requestId) {
         checkUserExists(requesterId);
-        ItemRequest itemRequest = itemRequestRepository.findItemRequestById(requestId)
-                .orElseThrow(() -> {
-                    log.error("Ошибка получения запроса по request_id = {} в методе readOneConcreteItemRequest", requestId);
-                    return new ItemRequestNotFoundException("Запроса с id " + requestId + " не существует");
-                });
+        ItemRequest itemRequest = findItemRequest(requestId);
         ItemRequestDto itemRequestDto = toItemDto(itemRequest);
         itemRequestDto.setItems(itemService.findAllItemByRequest(itemRequest.getId()));
+        itemRequestDto.setEtag(itemRequestETag(itemRequest));
         log.info("Информация об одном конкретном запросе на вещь успешно получена - requester_id: {}, request_id: {} ", requesterId, requesterId);
         return itemRequestDto;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> matchItemRequestETag(Long requesterId, Long requestId, String ifNoneMatch) {
+        checkUserExists(requesterId);
+        String current = itemRequestETag(findItemRequest(requestId));
+        return EntityTags.parse(ifNoneMatch)
+                .stream()
+                .filter(current::equals)
+                .findFirst();
+    }
+
+    private ItemRequest findItemRequest(Long requestId) {
+        return itemRequestRepository.findItemRequestById(requestId)
+                .orElseThrow(() -> {
+                    log.error("Ошибка получения запроса по request_id = {} в методе findItemRequest", requestId);
+                    return new ItemRequestNotFoundException("Запроса с id " + requestId + " не существует");
+                });
+    }
+
+    private static String itemRequestETag(ItemRequest itemRequest) {
+        return EntityTags.of(itemRequest.getId(), itemRequest.getItemsVersion());
+    }
+
+    private void attachItems(List<ItemRequestDto> itemRequests) {
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequestDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsByRequestId = itemService.findAllItemByRequests(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        itemRequests.forEach(requestDto -> requestDto.setItems(
+                itemsByRequestId.getOrDefault(requestDto.getId(), new ArrayList<>())));
+    }
+
     private void checkUserExists(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdFilter.mightContain(userId) || !userRepository.existsById(userId)) {
             log.error("Ошибка проверки пользователя в методе checkUserExists класса ItemRequestServiceImpl " +
                     "- Пользователь не найден. requester_id: {}", userId);
             throw new UserNotFoundException("Пользователь не найден");
@@ -1,17 +1,27 @@
 package ru.practicum.shareit.request.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    Page<ItemRequest> findAllByRequesterIdNot(Long requesterId, Pageable pageable);
+    List<ItemRequest> findAllByRequesterIdNot(Long requesterId, Pageable pageable);
 
     List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(Long requesterId);
 
     Optional<ItemRequest> findItemRequestById(Long requestId);
+
+    @Modifying
+    @Query("UPDATE ItemRequest r SET r.itemsVersion = r.itemsVersion + 1 WHERE r.id = ?1")
+    void incrementItemsVersion(Long requestId);
+
+    @Modifying
+    @Query("UPDATE ItemRequest r SET r.itemsVersion = r.itemsVersion + 1 " +
+            "WHERE r.id IN (SELECT i.requestId FROM Item i WHERE i.owner.id = ?1)")
+    void incrementItemsVersionByItemOwnerId(Long ownerId);
 }
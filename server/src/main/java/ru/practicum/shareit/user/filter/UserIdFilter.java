@@ -0,0 +1,187 @@
+package ru.practicum.shareit.user.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Рассчитан на одного писателя: пользователей создаёт только этот экземпляр server, поэтому отрицательный ответ
+// окончателен до следующей перестройки. При single-writer=false промахи перепроверяются по базе.
+@Slf4j
+@Component
+public class UserIdFilter {
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long MAX_COUNT = COUNTER_MASK;
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final boolean singleWriter;
+    private final int counterCount;
+    private final int hashCount;
+    private volatile AtomicLongArray counters;
+    private volatile AtomicLongArray rebuilding;
+    private volatile boolean ready;
+
+    public UserIdFilter(UserRepository userRepository,
+                        @Value("${user-id-filter.enabled:true}") boolean enabled,
+                        @Value("${user-id-filter.single-writer:true}") boolean singleWriter,
+                        @Value("${user-id-filter.expected-users:1000000}") int expectedUsers,
+                        @Value("${user-id-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        if (expectedUsers <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Некорректные параметры фильтра пользователей: expected-users = "
+                    + expectedUsers + ", false-positive-rate = " + falsePositiveRate);
+        }
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.singleWriter = singleWriter;
+        double optimalCounters = -expectedUsers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.counterCount = (int) Math.min(Integer.MAX_VALUE - COUNTERS_PER_WORD, Math.ceil(optimalCounters));
+        this.hashCount = Math.max(1, (int) Math.round((double) counterCount / expectedUsers * Math.log(2)));
+        this.counters = new AtomicLongArray(enabled ? words(counterCount) : 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @Scheduled(cron = "${user-id-filter.rebuild-cron:-}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        AtomicLongArray rebuilt = new AtomicLongArray(words(counterCount));
+        rebuilding = rebuilt;
+        List<Long> ids;
+        try {
+            ids = userRepository.findAllIds();
+        } catch (RuntimeException e) {
+            rebuilding = null;
+            throw e;
+        }
+        ids.forEach(id -> increment(rebuilt, id));
+        counters = rebuilt;
+        rebuilding = null;
+        ready = true;
+        log.info("Фильтр идентификаторов пользователей построен, добавлено пользователей: {}, счётчиков: {}, хеш-функций: {}",
+                ids.size(), counterCount, hashCount);
+    }
+
+    public void add(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        AtomicLongArray current = counters;
+        increment(current, userId);
+        AtomicLongArray pending = rebuilding;
+        if (pending != null) {
+            increment(pending, userId);
+        }
+        AtomicLongArray latest = counters;
+        if (latest != current && latest != pending) {
+            increment(latest, userId);
+        }
+    }
+
+    public void remove(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> decrement(counters, userId));
+    }
+
+    public boolean mightContain(Long userId) {
+        if (!isReady()) {
+            return true;
+        }
+        if (userId == null) {
+            return false;
+        }
+        AtomicLongArray snapshot = counters;
+        long hash = mix(userId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            if (get(snapshot, index(h1, h2, i)) == 0) {
+                return !singleWriter && existsInDatabase(userId);
+            }
+        }
+        return true;
+    }
+
+    private boolean existsInDatabase(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            return false;
+        }
+        add(userId);
+        return true;
+    }
+
+    private void increment(AtomicLongArray array, long userId) {
+        long hash = mix(userId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            update(array, index(h1, h2, i), 1);
+        }
+    }
+
+    private void decrement(AtomicLongArray array, long userId) {
+        long hash = mix(userId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            update(array, index(h1, h2, i), -1);
+        }
+    }
+
+    private static void update(AtomicLongArray array, int counter, int delta) {
+        int word = counter / COUNTERS_PER_WORD;
+        int shift = (counter % COUNTERS_PER_WORD) * COUNTER_BITS;
+        while (true) {
+            long current = array.get(word);
+            long count = (current >>> shift) & COUNTER_MASK;
+            if (count == MAX_COUNT || (delta < 0 && count == 0)) {
+                return;
+            }
+            long updated = (current & ~(COUNTER_MASK << shift)) | ((count + delta) << shift);
+            if (array.compareAndSet(word, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static long get(AtomicLongArray array, int counter) {
+        int shift = (counter % COUNTERS_PER_WORD) * COUNTER_BITS;
+        return (array.get(counter / COUNTERS_PER_WORD) >>> shift) & COUNTER_MASK;
+    }
+
+    private int index(int h1, int h2, int i) {
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % counterCount;
+    }
+
+    private static int words(int counters) {
+        return (counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD;
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
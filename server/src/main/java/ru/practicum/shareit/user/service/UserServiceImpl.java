@@ -5,13 +5,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
 import ru.practicum.shareit.exceptions.AlreadyExistException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 
 import static ru.practicum.shareit.user.mapper.UserMapper.toUserDto;
@@ -23,11 +30,18 @@ import static ru.practicum.shareit.user.mapper.UserMapper.toUserDto;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserIdFilter userIdFilter;
+    private final ItemScheduleIndex itemScheduleIndex;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
     public UserDto createUser(UserDto userDto) {
         try {
-            UserDto createdUser = UserMapper.toUserDto(userRepository.save(UserMapper.toUser(userDto)));
+            UserDto createdUser = UserMapper.toUserDto(userRepository.saveAndFlush(UserMapper.toUser(userDto)));
+            userIdFilter.add(createdUser.getId());
             log.info("Успешно выполнен запрос на создание пользователя {}", userDto);
             return createdUser;
         } catch (DataIntegrityViolationException e) {
@@ -53,7 +67,9 @@ public class UserServiceImpl implements UserService {
                 updatedUser.setName(userDto.getName());
             }
             log.info("Успешно выполнен запрос на частичное обновление пользователя с id = {}", id);
-            return toUserDto(userRepository.saveAndFlush(updatedUser));
+            UserDto userDtoUpdated = toUserDto(userRepository.saveAndFlush(updatedUser));
+            touchUserViews(id);
+            return userDtoUpdated;
         } catch (DataIntegrityViolationException e) {
             log.error("Не удалось выполнить запрос  на частичное обновление пользователя пользователя = {}, email = {} не уникален",
                     userDto, userDto.getEmail());
@@ -64,7 +80,7 @@ public class UserServiceImpl implements UserService {
     @Transactional(readOnly = true)
     @Override
     public List<UserDto> readUsers() {
-        List<UserDto> allUsers = UserMapper.toListUsersDto(userRepository.findAll());
+        List<UserDto> allUsers = userRepository.findAllUserDtos();
         log.info("Успешно выполнен запрос на получение информации обо всех пользователях");
         return allUsers;
     }
@@ -77,10 +93,16 @@ public class UserServiceImpl implements UserService {
             throw new UserNotFoundException("Пользователь с id " + id + " не найден. Удаление невозможно.");
         }
         log.info("Успешно выполнен запрос  на удаление пользователя c id = {}", id);
+        touchUserViews(id);
         userRepository.deleteById(id);
+        entityManagerFactory.getCache().evict(Item.class);
+        userIdFilter.remove(id);
+        itemScheduleIndex.removeUser(id);
+        itemSearchIndex.removeOwner(id);
     }
 
 
+    @Transactional(readOnly = true)
     @Override
     public UserDto getUserById(Long id) {
         User user = userRepository.findById(id)
@@ -92,5 +114,9 @@ public class UserServiceImpl implements UserService {
         log.info("Успешно выполнен запрос на получение информации о пользователя с id = {}", id);
         return toUserDto(user);
     }
-}
 
+    private void touchUserViews(Long userId) {
+        itemRepository.incrementActivityVersionByParticipantId(userId);
+        itemRequestRepository.incrementItemsVersionByItemOwnerId(userId);
+    }
+}
@@ -7,6 +7,8 @@ import java.time.format.DateTimeFormatter;
 @UtilityClass
 public class Constants {
     public static final String USER_ID = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+    public static final int BOOKING_BATCH_MAX_SIZE = 100;
     public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
 }
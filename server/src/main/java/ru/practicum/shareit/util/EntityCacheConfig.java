@@ -0,0 +1,65 @@
+package ru.practicum.shareit.util;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.getRegions().forEach((name, region) -> cacheManager.createCache(name, configuration(region)));
+        for (String region : new String[]{UPDATE_TIMESTAMPS_REGION, QUERY_RESULTS_REGION}) {
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, configuration(new EntityCacheProperties.Region()));
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(CacheManager entityCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.putIfAbsent("hibernate.cache.use_second_level_cache", "true");
+            hibernateProperties.putIfAbsent("hibernate.cache.use_query_cache", "true");
+            hibernateProperties.putIfAbsent("hibernate.cache.region.factory_class", "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+        };
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> entityCacheManager.getCacheNames()
+                .forEach(name -> JCacheMetrics.monitor(registry, entityCacheManager.getCache(name)));
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(EntityCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (region.getMaxSize() != null) {
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+        }
+        if (region.getTtl() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class EntityTags {
+    private static final String WEAK_PREFIX = "W/";
+    private static final String SEPARATOR = ".";
+
+    public static String of(Object... parts) {
+        return "\"" + Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR)) + "\"";
+    }
+
+    public static List<String> parse(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag)
+                .filter(tag -> tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\""))
+                .collect(Collectors.toList());
+    }
+
+    public static String[] split(String tag) {
+        return tag.substring(1, tag.length() - 1).split("\\" + SEPARATOR, -1);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class RebuildableIndexState<S> {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private S state;
+    private List<Consumer<S>> changesDuringRebuild;
+
+    public RebuildableIndexState(S initialState) {
+        this.state = initialState;
+    }
+
+    public <R> R read(Function<S, R> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void updateAfterCommit(Consumer<S> change) {
+        TransactionCallbacks.afterCommit(() -> update(change));
+    }
+
+    public synchronized void rebuild(Supplier<S> loader) {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        S rebuilt;
+        try {
+            rebuilt = loader.get();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void update(Consumer<S> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
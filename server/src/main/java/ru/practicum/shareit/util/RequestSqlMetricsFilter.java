@@ -0,0 +1,47 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTags;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_METRIC = "shareit.http.sql.statements";
+    public static final String ROWS_METRIC = "shareit.http.sql.rows";
+
+    private final SqlExecutionCounter sqlExecutionCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlExecutionCounter.start();
+        SqlExecutionCounter.Counts counts;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            counts = sqlExecutionCounter.stop();
+        }
+        Tags tags = Tags.of(WebMvcTags.method(request), WebMvcTags.uri(request, response),
+                WebMvcTags.status(response), WebMvcTags.outcome(response));
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("Количество SQL-запросов, выполненных при обработке HTTP-запроса")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(counts.getStatements());
+        DistributionSummary.builder(ROWS_METRIC)
+                .description("Количество строк, прочитанных из базы при обработке HTTP-запроса")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(counts.getRows());
+    }
+}
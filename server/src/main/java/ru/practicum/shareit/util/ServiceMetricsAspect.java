@@ -0,0 +1,67 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import ru.practicum.shareit.exceptions.handler.ErrorsHandler;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    public static final String SERVICE_METRIC = "shareit.service";
+
+    private static final ExceptionHandlerMethodResolver ERRORS_HANDLER_RESOLVER =
+            new ExceptionHandlerMethodResolver(ErrorsHandler.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<? extends Throwable>, Outcome> outcomes = new ConcurrentHashMap<>();
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        Outcome outcome = Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            outcome = outcomes.computeIfAbsent(e.getClass(), ServiceMetricsAspect::outcomeOf);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_METRIC)
+                    .description("Время выполнения методов сервисного слоя")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .tag("outcome", outcome.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    private static Outcome outcomeOf(Class<? extends Throwable> exceptionType) {
+        Method handler = ERRORS_HANDLER_RESOLVER.resolveMethodByExceptionType(exceptionType);
+        if (handler == null) {
+            return Outcome.SERVER_ERROR;
+        }
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(handler, ResponseStatus.class);
+        HttpStatus status = responseStatus == null ? HttpStatus.OK : responseStatus.code();
+        return Outcome.forStatus(status.value());
+    }
+}
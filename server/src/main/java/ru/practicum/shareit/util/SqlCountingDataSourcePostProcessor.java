@@ -0,0 +1,67 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+
+public class SqlCountingDataSourcePostProcessor implements BeanPostProcessor {
+    private static final Set<Class<?>> WRAPPED_TYPES = Set.of(Connection.class, Statement.class,
+            PreparedStatement.class, CallableStatement.class, ResultSet.class);
+
+    private final SqlExecutionCounter sqlExecutionCounter;
+    private final boolean enabled;
+
+    public SqlCountingDataSourcePostProcessor(SqlExecutionCounter sqlExecutionCounter, boolean enabled) {
+        this.sqlExecutionCounter = sqlExecutionCounter;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return bean instanceof Closeable
+                    ? wrap(bean, DataSource.class, Closeable.class)
+                    : wrap(bean, DataSource.class);
+        }
+        return bean;
+    }
+
+    private Object wrap(Object target, Class<?>... types) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), types,
+                (proxy, method, args) -> invoke(proxy, target, method, args));
+    }
+
+    private Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        if (target instanceof Statement && method.getName().startsWith("execute")) {
+            sqlExecutionCounter.statementExecuted();
+        } else if (target instanceof ResultSet && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            sqlExecutionCounter.rowFetched();
+        }
+        if (result != null && WRAPPED_TYPES.contains(method.getReturnType())) {
+            return wrap(result, method.getReturnType());
+        }
+        return result;
+    }
+}
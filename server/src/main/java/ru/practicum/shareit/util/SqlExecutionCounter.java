@@ -0,0 +1,37 @@
+package ru.practicum.shareit.util;
+
+import lombok.Getter;
+
+public class SqlExecutionCounter {
+    private final ThreadLocal<Counts> current = new ThreadLocal<>();
+
+    public void start() {
+        current.set(new Counts());
+    }
+
+    public Counts stop() {
+        Counts counts = current.get();
+        current.remove();
+        return counts == null ? new Counts() : counts;
+    }
+
+    public void statementExecuted() {
+        Counts counts = current.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    public void rowFetched() {
+        Counts counts = current.get();
+        if (counts != null) {
+            counts.rows++;
+        }
+    }
+
+    @Getter
+    public static class Counts {
+        private long statements;
+        private long rows;
+    }
+}
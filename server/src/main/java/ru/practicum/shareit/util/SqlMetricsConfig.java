@@ -0,0 +1,26 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SqlMetricsConfig {
+    @Bean
+    public static SqlExecutionCounter sqlExecutionCounter() {
+        return new SqlExecutionCounter();
+    }
+
+    @Bean
+    public static SqlCountingDataSourcePostProcessor sqlCountingDataSourcePostProcessor(
+            SqlExecutionCounter sqlExecutionCounter, @Value("${sql-metrics.enabled:true}") boolean enabled) {
+        return new SqlCountingDataSourcePostProcessor(sqlExecutionCounter, enabled);
+    }
+
+    @Bean
+    public RequestSqlMetricsFilter requestSqlMetricsFilter(SqlExecutionCounter sqlExecutionCounter,
+                                                           MeterRegistry meterRegistry) {
+        return new RequestSqlMetricsFilter(sqlExecutionCounter, meterRegistry);
+    }
+}
@@ -0,0 +1,8 @@
+ALTER TABLE items
+    ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE items
+    ADD COLUMN IF NOT EXISTS activity_version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE item_requests
+    ADD COLUMN IF NOT EXISTS items_version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,2 @@
+ALTER TABLE bookings
+    ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,10 @@
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_approved_no_overlap
+        CHECK (booking_status <> 'APPROVED' OR NOT EXISTS(
+            SELECT 1
+            FROM bookings other
+            WHERE other.item_id = bookings.item_id
+              AND other.id <> bookings.id
+              AND other.booking_status = 'APPROVED'
+              AND other.start_time < bookings.end_time
+              AND other.end_time > bookings.start_time));
@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_approved_no_overlap
+        EXCLUDE USING GIST (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+        WHERE (booking_status = 'APPROVED');
@@ -0,0 +1,24 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50 OWNED BY users.id;
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users), false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq INCREMENT BY 50 OWNED BY item_requests.id;
+SELECT setval('item_requests_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM item_requests), false);
+ALTER TABLE item_requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE item_requests ALTER COLUMN id SET DEFAULT nextval('item_requests_seq');
+
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50 OWNED BY items.id;
+SELECT setval('items_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM items), false);
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50 OWNED BY bookings.id;
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings), false);
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50 OWNED BY comments.id;
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM comments), false);
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
@@ -0,0 +1,243 @@
+package ru.practicum.shareit;
+
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.filter.UserIdFilter;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.USER_ID;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+class EndpointQueryCountTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    UserIdFilter userIdFilter;
+
+    @Autowired
+    ItemScheduleIndex itemScheduleIndex;
+
+    Map<String, Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        User owner = persist(User.builder().name("owner").email("owner@mail.com").build());
+        User booker = persist(User.builder().name("booker").email("booker@mail.com").build());
+        ItemRequest itemRequest = persist(ItemRequest.builder()
+                .description("request")
+                .requesterId(booker.getId())
+                .created(LocalDateTime.now())
+                .build());
+        Item item = persist(Item.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .owner(owner)
+                .requestId(itemRequest.getId())
+                .build());
+        persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .bookingStatus(BookingStatus.APPROVED)
+                .build());
+        Booking waiting = persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .bookingStatus(BookingStatus.WAITING)
+                .build());
+        persist(Comment.builder()
+                .item(item)
+                .author(booker)
+                .text("comment")
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        userIdFilter.add(owner.getId());
+        userIdFilter.add(booker.getId());
+        itemScheduleIndex.rebuild();
+        ids = Map.of("owner", owner.getId(),
+                "booker", booker.getId(),
+                "item", item.getId(),
+                "booking", waiting.getId(),
+                "request", itemRequest.getId());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource(delimiter = '|', value = {
+            "POST   | /users                     | owner  | {\"name\":\"new\",\"email\":\"new@mail.com\"} | 1",
+            "GET    | /users                     | owner  |                                                | 1",
+            "GET    | /users/{owner}             | owner  |                                                | 1",
+            "PATCH  | /users/{owner}             | owner  | {\"name\":\"renamed\"}                         | 4",
+            "DELETE | /users/{booker}            | owner  |                                                | 5",
+            "POST   | /items                     | owner  | {\"name\":\"n\",\"description\":\"d\",\"available\":true} | 2",
+            "GET    | /items                     | owner  |                                                | 4",
+            "GET    | /items/{item}              | owner  |                                                | 2",
+            "GET    | /items/{item}/availability | booker |                                                | 2",
+            "GET    | /items/{item}              | booker |                                                | 2",
+            "PATCH  | /items/{item}              | owner  | {\"name\":\"renamed\"}                         | 4",
+            "GET    | /items/search?text=дрель   | booker |                                                | 1",
+            "POST   | /items/{item}/comment      | booker | {\"text\":\"nice\"}                            | 5",
+            "POST   | /bookings                  | booker | {\"itemId\":{item},\"start\":\"2100-01-01T10:00:00\",\"end\":\"2100-01-02T10:00:00\"} | 3",
+            "PATCH  | /bookings/{booking}?approved=true | owner |                                         | 6",
+            "GET    | /bookings/{booking}        | booker |                                                | 2",
+            "GET    | /bookings?state=ALL        | booker |                                                | 2",
+            "GET    | /bookings/owner?state=ALL  | owner  |                                                | 2",
+            "GET    | /bookings?state=ALL&cursor= | booker |                                               | 2",
+            "POST   | /requests                  | owner  | {\"description\":\"need\"}                     | 2",
+            "GET    | /requests                  | booker |                                                | 3",
+            "GET    | /requests/all              | owner  |                                                | 3",
+            "GET    | /requests/{request}        | booker |                                                | 3"
+    })
+    void endpointShouldIssueExpectedNumberOfStatements(String method, String path, String user, String body,
+                                                       long expectedStatements) {
+        MockHttpServletRequestBuilder request = request(HttpMethod.valueOf(method), resolve(path))
+                .header(USER_ID, ids.get(user));
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(resolve(body));
+        }
+        Statistics statistics = statistics();
+
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        entityManager.flush();
+
+        assertEquals(expectedStatements, statistics.getPrepareStatementCount());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest(name = "GET {0} unknown user")
+    @ValueSource(strings = {"/bookings?state=ALL", "/bookings/owner?state=ALL", "/bookings/{booking}",
+            "/requests", "/requests/all"})
+    void unknownUserShouldBeRejectedWithoutStatements(String path) {
+        long unknownUserId = 987_654_321L;
+        Statistics statistics = statistics();
+
+        mockMvc.perform(get(resolve(path)).header(USER_ID, unknownUserId))
+                .andExpect(status().isNotFound());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest(name = "GET {0} If-None-Match")
+    @CsvSource(delimiter = '|', value = {
+            "/items/{item}              | owner  | 1",
+            "/items/{item}              | booker | 1",
+            "/requests/{request}        | booker | 2"
+    })
+    void conditionalGetShouldAnswerNotModifiedWithoutLoadingDetails(String path, String user, long expectedStatements) {
+        String eTag = readETag(path, user);
+        Statistics statistics = statistics();
+
+        mockMvc.perform(get(resolve(path))
+                        .header(USER_ID, ids.get(user))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        assertEquals(expectedStatements, statistics.getPrepareStatementCount());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource(delimiter = '|', value = {
+            "PATCH  | /bookings/{booking}?approved=true | owner  |                          | /items/{item}",
+            "POST   | /items/{item}/comment             | booker | {\"text\":\"nice\"}    | /items/{item}",
+            "PATCH  | /items/{item}                     | owner  | {\"name\":\"renamed\"} | /items/{item}",
+            "PATCH  | /items/{item}                     | owner  | {\"name\":\"renamed\"} | /requests/{request}",
+            "PATCH  | /users/{owner}                    | owner  | {\"name\":\"renamed\"} | /requests/{request}"
+    })
+    void conditionalGetShouldAnswerOkAfterChange(String method, String path, String user, String body,
+                                                 String viewPath) {
+        String viewer = viewPath.startsWith("/items") ? "owner" : "booker";
+        String eTag = readETag(viewPath, viewer);
+        MockHttpServletRequestBuilder change = request(HttpMethod.valueOf(method), resolve(path))
+                .header(USER_ID, ids.get(user));
+        if (body != null) {
+            change.contentType(MediaType.APPLICATION_JSON).content(resolve(body));
+        }
+        mockMvc.perform(change).andExpect(status().is2xxSuccessful());
+        entityManager.flush();
+        entityManager.clear();
+
+        String changedETag = mockMvc.perform(get(resolve(viewPath))
+                        .header(USER_ID, ids.get(viewer))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(eTag, changedETag);
+    }
+
+    @SneakyThrows
+    private String readETag(String path, String user) {
+        String eTag = mockMvc.perform(get(resolve(path)).header(USER_ID, ids.get(user)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        entityManager.clear();
+        return eTag;
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private String resolve(String template) {
+        String resolved = template;
+        for (Map.Entry<String, Long> id : ids.entrySet()) {
+            resolved = resolved.replace("{" + id.getKey() + "}", String.valueOf(id.getValue()));
+        }
+        return resolved;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
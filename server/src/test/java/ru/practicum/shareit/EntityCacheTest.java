@@ -0,0 +1,243 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.USER_ID;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.open-in-view=false"})
+@AutoConfigureMockMvc
+class EntityCacheTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    List<Long> userIds = new ArrayList<>();
+    Long ownerId;
+    Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser();
+        itemId = createItem(ownerId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userIds.stream()
+                .filter(userRepository::existsById)
+                .forEach(userService::deleteUser);
+    }
+
+    @Test
+    @DisplayName("existsById - повторная проверка пользователя обслуживается кэшем запросов")
+    void existenceCheckShouldBeServedFromQueryCache() {
+        assertTrue(userRepository.existsById(ownerId));
+        Statistics statistics = statistics();
+
+        assertTrue(userRepository.existsById(ownerId));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("findById - пользователь и вещь повторно читаются из кэша второго уровня")
+    void findByIdShouldBeServedFromSecondLevelCache() {
+        userRepository.findById(ownerId);
+        itemRepository.findById(itemId);
+        Statistics statistics = statistics();
+
+        assertEquals(ownerId, itemRepository.findById(itemId).orElseThrow().getOwner().getId());
+        assertEquals("owner", userRepository.findById(ownerId).orElseThrow().getName());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("create - бронирование вещи из кэша второго уровня возвращает инициализированного владельца")
+    void bookingOfCachedItemShouldReturnInitializedOwner() {
+        Long bookerId = createUser();
+        itemRepository.findById(itemId);
+
+        BookingDto booking = bookingService.create(BookingRequestDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build(), bookerId);
+
+        assertTrue(Hibernate.isInitialized(booking.getItem().getOwner()));
+        assertEquals("owner", booking.getItem().getOwner().getName());
+        assertTrue(objectMapper.writeValueAsString(booking).contains("\"name\":\"owner\""));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("POST /bookings - ответ по вещи из кэша второго уровня содержит владельца")
+    void bookingEndpointShouldSerializeOwnerOfCachedItem() {
+        Long bookerId = createUser();
+        itemRepository.findById(itemId);
+        Statistics statistics = statistics();
+
+        mockMvc.perform(post("/bookings")
+                        .header(USER_ID, bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookingRequestDto.builder()
+                                .itemId(itemId)
+                                .start(LocalDateTime.now().plusDays(1))
+                                .end(LocalDateTime.now().plusDays(2))
+                                .build())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.item.owner.id").value(ownerId))
+                .andExpect(jsonPath("$.item.owner.name").value("owner"));
+
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("updateUser - обновлённый пользователь не читается из кэша в старом виде")
+    void updateUserShouldNotLeaveStaleEntry() {
+        userService.getUserById(ownerId);
+
+        userService.updateUser(ownerId, UserDto.builder().name("renamed").build());
+
+        assertEquals("renamed", userService.getUserById(ownerId).getName());
+    }
+
+    @Test
+    @DisplayName("deleteUser - проверка существования и вещи удалённого владельца вытесняются из кэша")
+    void deleteUserShouldEvictExistenceAndOwnedItems() {
+        assertTrue(userRepository.existsById(ownerId));
+        assertTrue(itemRepository.findById(itemId).isPresent());
+
+        userService.deleteUser(ownerId);
+
+        assertFalse(userRepository.existsById(ownerId));
+        assertFalse(itemRepository.findById(itemId).isPresent());
+    }
+
+    @Test
+    @DisplayName("incrementActivityVersion - вытесняет из кэша только изменённую вещь")
+    void activityBumpShouldEvictOnlyChangedItem() {
+        Long otherItemId = createItem(ownerId);
+        itemRepository.findById(itemId);
+        itemRepository.findById(otherItemId);
+
+        transactionTemplate.executeWithoutResult(status -> itemRepository.incrementActivityVersion(itemId));
+        Statistics statistics = statistics();
+
+        assertEquals(1L, itemRepository.findById(itemId).orElseThrow().getActivityVersion());
+        itemRepository.findById(otherItemId);
+
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+    }
+
+    @Test
+    @DisplayName("метрики - попадания в кэш пользователей публикуются в MeterRegistry")
+    void cacheHitsShouldBePublishedAsMetrics() {
+        double before = meterRegistry.get("cache.gets")
+                .tag("cache", User.CACHE_REGION)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+
+        userRepository.findById(ownerId);
+        userRepository.findById(ownerId);
+
+        assertTrue(meterRegistry.get("cache.gets")
+                .tag("cache", User.CACHE_REGION)
+                .tag("result", "hit")
+                .functionCounter()
+                .count() > before);
+        assertTrue(meterRegistry.find("cache.gets").tag("cache", Item.CACHE_REGION).functionCounter() != null);
+    }
+
+    private Long createUser() {
+        String unique = UUID.randomUUID().toString();
+        Long id = userService.createUser(UserDto.builder().name("owner").email(unique + "@mail.com").build()).getId();
+        userIds.add(id);
+        return id;
+    }
+
+    private Long createItem(Long ownerId) {
+        return itemService.createItem(ItemDto.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .build(), ownerId, null).getId();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
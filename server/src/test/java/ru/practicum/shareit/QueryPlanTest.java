@@ -0,0 +1,174 @@
+package ru.practicum.shareit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.status.BookingState;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.storage.CommentRepository;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static ru.practicum.shareit.booking.storage.BookingSpecifications.bookerIdIs;
+import static ru.practicum.shareit.booking.storage.BookingSpecifications.inState;
+import static ru.practicum.shareit.booking.storage.BookingSpecifications.itemOwnerIdIs;
+
+@DataJpaTest
+@Import(QueryPlanTest.SqlCaptureConfig.class)
+class QueryPlanTest {
+    static final LocalDateTime NOW = LocalDateTime.now();
+    static final List<Long> IDS = List.of(1L, 2L, 3L);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CapturingStatementInspector capturedSql;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+
+    @BeforeEach
+    void setUp() {
+        capturedSql.clear();
+    }
+
+    @Test
+    void migrationsShouldCreateQueryIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes", String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "bookings_booker_start_idx",
+                "bookings_booker_status_start_idx",
+                "bookings_item_start_idx",
+                "bookings_item_end_idx",
+                "bookings_item_status_end_idx",
+                "items_owner_idx",
+                "items_request_idx",
+                "comments_item_created_idx",
+                "item_requests_requester_created_idx",
+                "item_requests_created_idx")), indexes.toString());
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                arguments("bookings of booker in state PAST", query(test -> test.bookingRepository.findAllByFilter(
+                        bookerIdIs(1L).and(inState(BookingState.PAST, NOW)), PageRequest.of(0, 10)))),
+                arguments("bookings of booker in state WAITING", query(test -> test.bookingRepository.findAllByFilter(
+                        bookerIdIs(1L).and(inState(BookingState.WAITING, NOW)), PageRequest.of(0, 10)))),
+                arguments("bookings of booker after cursor", query(test -> test.bookingRepository
+                        .findAllByFilterAfterCursor(bookerIdIs(1L).and(inState(BookingState.ALL, NOW)),
+                                new KeysetCursor(NOW, 10L), 10))),
+                arguments("bookings of owner", query(test -> test.bookingRepository.findAllByFilter(
+                        itemOwnerIdIs(1L).and(inState(BookingState.ALL, NOW)), PageRequest.of(0, 10)))),
+                arguments("last booking of item", query(test -> test.bookingRepository
+                        .findTop1BookingByItemIdAndEndIsBeforeAndBookingStatusIs(1L, NOW, BookingStatus.APPROVED,
+                                Sort.by(Sort.Direction.DESC, "end")))),
+                arguments("next booking of item", query(test -> test.bookingRepository
+                        .findTop1BookingByItemIdAndEndIsAfterAndBookingStatusIs(1L, NOW, BookingStatus.APPROVED,
+                                Sort.by(Sort.Direction.ASC, "end")))),
+                arguments("last and next bookings of items", query(test -> test.bookingRepository
+                        .findLastAndNextBookingsByItemIds(IDS, NOW))),
+                arguments("bookings of item by booker", query(test -> test.bookingRepository
+                        .findByItem_IdAndBooker_IdOrderByStartDesc(1L, 1L))),
+                arguments("approved overlap check", query(test -> test.bookingRepository
+                        .existsApprovedOverlap(1L, NOW, NOW.plusDays(1)))),
+                arguments("approved intervals of item", query(test -> test.bookingRepository
+                        .findApprovedIntervalsBetween(1L, NOW, NOW.plusDays(30)))),
+                arguments("approved intervals of items", query(test -> test.bookingRepository
+                        .findApprovedIntervalsByItemIdsBetween(IDS, NOW, NOW.plusDays(1)))),
+                arguments("items of owner", query(test -> test.itemRepository
+                        .findItemsByOwnerIdOrderByIdAsc(1L, PageRequest.of(0, 10)))),
+                arguments("items of request", query(test -> test.itemRepository.findAllByRequestId(1L))),
+                arguments("items of requests", query(test -> test.itemRepository.findAllByRequestIdIn(IDS))),
+                arguments("comments of item", query(test -> test.commentRepository
+                        .findAllByItemIdOrderByCreatedDesc(1L))),
+                arguments("comments of items", query(test -> test.commentRepository
+                        .findAllByItemIdInOrderByCreatedDesc(IDS))),
+                arguments("requests of requester", query(test -> test.itemRequestRepository
+                        .findAllByRequesterIdOrderByCreatedDesc(1L))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryShouldNotFallBackToFullScan(String name, Consumer<QueryPlanTest> query) {
+        query.accept(this);
+        List<String> statements = capturedSql.statements();
+
+        assertFalse(statements.isEmpty(), name);
+        for (String sql : statements) {
+            String plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                    (resultSet, rowNum) -> resultSet.getString(1)).get(0);
+            assertFalse(plan.contains("tableScan"), plan);
+        }
+    }
+
+    private static Consumer<QueryPlanTest> query(Consumer<QueryPlanTest> query) {
+        return query;
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        CapturingStatementInspector capturingStatementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    static class CapturingStatementInspector implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+}
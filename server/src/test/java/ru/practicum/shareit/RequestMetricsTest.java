@@ -0,0 +1,133 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.RequestSqlMetricsFilter;
+import ru.practicum.shareit.util.ServiceMetricsAspect;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.USER_ID;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class RequestMetricsTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ItemService itemService;
+
+    Long ownerId;
+    Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(UserDto.builder()
+                .name("owner")
+                .email(UUID.randomUUID() + "@mail.com")
+                .build()).getId();
+        itemId = itemService.createItem(ItemDto.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .build(), ownerId, null).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userService.deleteUser(ownerId);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("GET /items/{itemId} - количество SQL-запросов и строк записывается с шаблоном пути")
+    void requestShouldRecordSqlStatementsAndRows() {
+        mockMvc.perform(get("/items/{itemId}", itemId).header(USER_ID, ownerId))
+                .andExpect(status().isOk());
+        long before = summary(RequestSqlMetricsFilter.STATEMENTS_METRIC, "/items/{itemId}").count();
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(USER_ID, ownerId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items").header(USER_ID, ownerId))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = summary(RequestSqlMetricsFilter.STATEMENTS_METRIC, "/items/{itemId}");
+        assertEquals(before + 1, statements.count());
+        assertTrue(statements.max() > 0);
+        assertTrue(summary(RequestSqlMetricsFilter.ROWS_METRIC, "/items").max() > 0);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("сервисный слой - исключение из ErrorsHandler попадает в теги таймера")
+    void serviceTimerShouldBeTaggedWithHandledException() {
+        mockMvc.perform(get("/bookings/{bookingId}", Long.MAX_VALUE).header(USER_ID, ownerId))
+                .andExpect(status().isNotFound());
+
+        assertNotNull(meterRegistry.find(ServiceMetricsAspect.SERVICE_METRIC)
+                .tag("class", "BookingServiceImpl")
+                .tag("method", "getByIdAndBookerId")
+                .tag("exception", "BookingNotFoundException")
+                .tag("outcome", "CLIENT_ERROR")
+                .timer());
+        assertNotNull(meterRegistry.find(ServiceMetricsAspect.SERVICE_METRIC)
+                .tag("class", "UserServiceImpl")
+                .tag("method", "createUser")
+                .tag("exception", "none")
+                .tag("outcome", "SUCCESS")
+                .timer());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("/actuator/prometheus - публикует гистограммы сервисного слоя и счётчики SQL")
+    void prometheusEndpointShouldExposeInstrumentation() {
+        mockMvc.perform(get("/items/{itemId}", itemId).header(USER_ID, ownerId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("shareit_http_sql_statements_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/items/{itemId}\"")));
+    }
+
+    private DistributionSummary summary(String name, String uri) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tag("method", "GET")
+                .tag("uri", uri)
+                .tag("status", "200")
+                .summary();
+        assertNotNull(summary);
+        return summary;
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.loadtest.DataGenerator;
+import ru.practicum.shareit.loadtest.Dataset;
+import ru.practicum.shareit.loadtest.DatasetSize;
+import ru.practicum.shareit.user.filter.UserIdFilter;
+import ru.practicum.shareit.util.SqlExecutionCounter;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.USER_ID;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SeededDatasetTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    SqlExecutionCounter sqlExecutionCounter;
+
+    @Autowired
+    UserIdFilter userIdFilter;
+
+    @Autowired
+    ItemScheduleIndex itemScheduleIndex;
+
+    final List<Dataset> datasets = new ArrayList<>();
+
+    @AfterEach
+    @SneakyThrows
+    void tearDown() {
+        try (Connection connection = dataSource.getConnection()) {
+            DataGenerator generator = new DataGenerator(connection);
+            for (Dataset dataset : datasets) {
+                generator.remove(dataset);
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("сгенерированные данные - вещи владельца, бронирования и поиск отдаются через API")
+    void seededDatasetShouldBeServedByEndpoints() {
+        Dataset dataset = seed(DatasetSize.builder()
+                .users(30)
+                .owners(5)
+                .itemsPerOwner(4)
+                .bookingsPerItem(3)
+                .commentsPerItem(1)
+                .requests(5)
+                .batchSize(7)
+                .build());
+        Long ownerId = dataset.getOwnerIds().get(0);
+        Long itemId = dataset.getItemIdsByOwner().get(ownerId).get(0);
+        String itemName = jdbcTemplate.queryForObject("SELECT item_name FROM items WHERE id = ?", String.class, itemId);
+
+        assertEquals(30, dataset.getUserIds().size());
+        assertEquals(20, dataset.itemCount());
+        mockMvc.perform(get("/items").header(USER_ID, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)));
+        mockMvc.perform(get("/items/{itemId}", itemId).header(USER_ID, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(1)));
+        mockMvc.perform(get("/bookings/owner").param("state", "ALL").param("size", "100").header(USER_ID, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(12)));
+        mockMvc.perform(get("/items/search").param("text", itemName.split(" ")[1].toLowerCase(Locale.ROOT))
+                        .param("size", "100").header(USER_ID, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", not(empty())));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("вещи владельца - число SQL-запросов на страницу не растёт вместе с объёмом данных")
+    void ownerItemsStatementCountShouldNotGrowWithDataset() {
+        Dataset small = seed(DatasetSize.builder()
+                .users(10).owners(2).itemsPerOwner(2).bookingsPerItem(1).commentsPerItem(1).requests(1).build());
+        Dataset large = seed(DatasetSize.builder()
+                .users(50).owners(2).itemsPerOwner(20).bookingsPerItem(8).commentsPerItem(5).requests(10).build());
+
+        assertEquals(statementsForOwnerItems(small.getOwnerIds().get(0)),
+                statementsForOwnerItems(large.getOwnerIds().get(0)));
+    }
+
+    @SneakyThrows
+    private Dataset seed(DatasetSize size) {
+        Dataset dataset;
+        try (Connection connection = dataSource.getConnection()) {
+            dataset = new DataGenerator(connection).generate(size);
+        }
+        datasets.add(dataset);
+        userIdFilter.rebuild();
+        itemScheduleIndex.rebuild();
+        return dataset;
+    }
+
+    private long statementsForOwnerItems(Long ownerId) {
+        itemService.readItemsOwnedByUserId(ownerId, 0, 10);
+        sqlExecutionCounter.start();
+        itemService.readItemsOwnedByUserId(ownerId, 0, 10);
+        return sqlExecutionCounter.stop().getStatements();
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserEndpointTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    Long userId;
+
+    @AfterEach
+    void tearDown() {
+        if (userId != null) {
+            userService.deleteUser(userId);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("POST /users - повторный email отклоняется с кодом 409, а не 500")
+    void createUserWithDuplicateEmailShouldReturnConflict() {
+        String email = UUID.randomUUID() + "@mail.com";
+        String body = objectMapper.writeValueAsString(UserDto.builder().name("first").email(email).build());
+        String created = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        userId = objectMapper.readValue(created, UserDto.class).getId();
+        long usersBefore = userRepository.count();
+
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UserDto.builder()
+                                .name("second")
+                                .email(email)
+                                .build())))
+                .andExpect(status().isConflict());
+
+        assertEquals(usersBefore, userRepository.count());
+    }
+}
@@ -8,17 +8,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingBatchResponseDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.status.BookingBatchMode;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.exceptions.BookingNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,7 +34,9 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR;
 import static ru.practicum.shareit.util.Constants.USER_ID;
 
 @WebMvcTest(controllers = {BookingController.class})
@@ -109,6 +117,50 @@ class BookingControllerTest {
                 .andReturn();
     }
 
+    @Test
+    @SneakyThrows
+    void createBookingsShouldReturnStatusCreatedWhenAnyBookingCreated() {
+        BookingBatchResponseDto batchResponse = BookingBatchResponseDto.builder()
+                .mode(BookingBatchMode.PARTIAL)
+                .created(1)
+                .failed(1)
+                .results(List.of(
+                        BookingBatchResultDto.builder().index(0).status(BookingBatchResultDto.Status.CREATED)
+                                .booking(responseDto).build(),
+                        BookingBatchResultDto.builder().index(1).status(BookingBatchResultDto.Status.FAILED)
+                                .error("Вещь не найдена").build()))
+                .build();
+        when(bookingService.createBatch(anyList(), anyLong(), eq("PARTIAL"))).thenReturn(batchResponse);
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(USER_ID, 1L)
+                        .param("mode", "PARTIAL")
+                        .content(objectMapper.writeValueAsString(List.of(createDto, createDto)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(content().json(objectMapper.writeValueAsString(batchResponse)));
+    }
+
+    @Test
+    @SneakyThrows
+    void createBookingsShouldReturnBadRequestWhenNothingCreated() {
+        BookingBatchResponseDto batchResponse = BookingBatchResponseDto.builder()
+                .mode(BookingBatchMode.ALL_OR_NOTHING)
+                .created(0)
+                .failed(1)
+                .results(List.of(BookingBatchResultDto.builder().index(0).status(BookingBatchResultDto.Status.FAILED)
+                        .error("Вещь не найдена").build()))
+                .build();
+        when(bookingService.createBatch(anyList(), anyLong(), eq("ALL_OR_NOTHING"))).thenReturn(batchResponse);
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(USER_ID, 1L)
+                        .content(objectMapper.writeValueAsString(List.of(createDto)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json(objectMapper.writeValueAsString(batchResponse)));
+    }
+
     @Test
     @SneakyThrows
     void approveWhenParamFalseShouldReturnStatusOk() {
@@ -268,6 +320,44 @@ class BookingControllerTest {
                 .andReturn();
     }
 
+    @Test
+    @SneakyThrows
+    void getOwnerStuffBookingsWithCursorWhenSliceHasNextShouldReturnNextCursorHeader() {
+        List<BookingDto> bookingDtoList = getBookingDtos();
+        String nextCursor = new KeysetCursor(bookingDto.getStart(), bookingDto.getId()).encode();
+
+        when(bookingService.getAllByOwnerWithCursor(anyLong(), anyString(), eq(""), anyInt()))
+                .thenReturn(new SliceImpl<>(bookingDtoList, PageRequest.of(0, 1), true));
+        mockMvc.perform(get("/bookings/owner")
+                        .header(USER_ID, 1L)
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .param("state", "ALL")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR, nextCursor))
+                .andExpect(content().json(objectMapper.writeValueAsString(bookingDtoList)))
+                .andDo(print());
+    }
+
+    @Test
+    @SneakyThrows
+    void getUserBookingsWithCursorWhenLastSliceShouldNotReturnNextCursorHeader() {
+        List<BookingDto> bookingDtoList = getBookingDtos();
+
+        when(bookingService.getAllByUserWithCursor(anyLong(), anyString(), eq("abc"), anyInt()))
+                .thenReturn(new SliceImpl<>(bookingDtoList, PageRequest.of(0, 10), false));
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID, 1L)
+                        .param("cursor", "abc")
+                        .param("state", "ALL")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR))
+                .andExpect(content().json(objectMapper.writeValueAsString(bookingDtoList)))
+                .andDo(print());
+    }
+
     private List<BookingDto> getBookingDtos() {
         return List.of(bookingDto);
     }
@@ -0,0 +1,196 @@
+package ru.practicum.shareit.booking.repositorytest;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.status.BookingState;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.booking.storage.BookingSpecifications.bookerIdIs;
+import static ru.practicum.shareit.booking.storage.BookingSpecifications.inState;
+import static ru.practicum.shareit.booking.storage.BookingSpecifications.itemOwnerIdIs;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class BookingRepositoryTest {
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    User owner;
+    User booker;
+    Item item;
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = entityManager.persist(User.builder().name("booker").email("booker@mail.com").build());
+        item = entityManager.persist(Item.builder()
+                .name("Item")
+                .description("Description")
+                .available(true)
+                .owner(owner)
+                .build());
+        persistBooking(item, now.minusDays(5), BookingStatus.APPROVED);
+        persistBooking(item, now.minusDays(5), BookingStatus.REJECTED);
+        persistBooking(item, now.minusDays(3), BookingStatus.REJECTED);
+        persistBooking(item, now.plusDays(1), BookingStatus.WAITING);
+        persistBooking(item, now.plusDays(2), BookingStatus.WAITING);
+    }
+
+    @Test
+    void equalsHashCodeAndToString_whenDetachedWithLazyAssociations_thenProxiesStayUninitialized() {
+        Long bookingId = bookingRepository.findAll().get(0).getId();
+        entityManager.clear();
+
+        Booking booking = entityManager.find(Booking.class, bookingId);
+        entityManager.detach(booking);
+        Booking sameBooking = Booking.builder().id(bookingId).build();
+        Set<Booking> bookings = new HashSet<>(List.of(booking));
+        String description = booking.toString();
+
+        assertEquals(booking, sameBooking);
+        assertTrue(bookings.contains(sameBooking));
+        assertNotEquals(booking, Booking.builder().build());
+        assertTrue(description.contains("id=" + bookingId));
+        assertFalse(Hibernate.isInitialized(booking.getItem()));
+        assertFalse(Hibernate.isInitialized(booking.getBooker()));
+    }
+
+    @Test
+    void findAllByFilterAfterCursor_byBooker_whenPagedThroughAll_thenEveryBookingReturnedOnceInOrder() {
+        List<BookingDto> all = new ArrayList<>();
+        KeysetCursor cursor = KeysetCursor.first();
+        Slice<BookingDto> slice;
+        do {
+            slice = bookingRepository.findAllByFilterAfterCursor(
+                    bookerIdIs(booker.getId()).and(inState(BookingState.ALL, now)), cursor, 2);
+            all.addAll(slice.getContent());
+            BookingDto last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            cursor = new KeysetCursor(last.getStart(), last.getId());
+        } while (slice.hasNext());
+
+        assertEquals(5, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            BookingDto previous = all.get(i - 1);
+            BookingDto current = all.get(i);
+            assertTrue(previous.getStart().isAfter(current.getStart())
+                    || (previous.getStart().equals(current.getStart()) && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void findAllByFilterAfterCursor_byOwner_whenStateFiltered_thenOnlyMatchingBookings() {
+        Slice<BookingDto> waiting = bookingRepository
+                .findAllByFilterAfterCursor(
+                        itemOwnerIdIs(owner.getId()).and(inState(BookingState.WAITING, now)), KeysetCursor.first(), 10);
+        Slice<BookingDto> past = bookingRepository
+                .findAllByFilterAfterCursor(
+                        itemOwnerIdIs(owner.getId()).and(inState(BookingState.PAST, now)), KeysetCursor.first(), 10);
+        Slice<BookingDto> future = bookingRepository
+                .findAllByFilterAfterCursor(
+                        itemOwnerIdIs(owner.getId()).and(inState(BookingState.FUTURE, now)), KeysetCursor.first(), 1);
+
+        assertEquals(2, waiting.getNumberOfElements());
+        assertFalse(waiting.hasNext());
+        assertEquals(3, past.getNumberOfElements());
+        assertEquals(1, future.getNumberOfElements());
+        assertTrue(future.hasNext());
+        assertEquals(now.plusDays(2), future.getContent().get(0).getStart());
+    }
+
+    @Test
+    void findAllByFilterAfterCursor_byOwner_whenNotOwner_thenEmpty() {
+        Slice<BookingDto> slice = bookingRepository
+                .findAllByFilterAfterCursor(
+                        itemOwnerIdIs(booker.getId()).and(inState(BookingState.ALL, now)), KeysetCursor.first(), 10);
+
+        assertTrue(slice.getContent().isEmpty());
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    void findAllByFilter_whenSecondPage_thenOffsetAppliedInStartOrder() {
+        List<BookingDto> firstPage = bookingRepository.findAllByFilter(
+                bookerIdIs(booker.getId()).and(inState(BookingState.ALL, now)), PageRequest.of(0, 2));
+        List<BookingDto> secondPage = bookingRepository.findAllByFilter(
+                bookerIdIs(booker.getId()).and(inState(BookingState.ALL, now)), PageRequest.of(1, 2));
+
+        assertEquals(2, firstPage.size());
+        assertEquals(now.plusDays(2), firstPage.get(0).getStart());
+        assertEquals(2, secondPage.size());
+        assertEquals(now.minusDays(3), secondPage.get(0).getStart());
+    }
+
+    @Test
+    void findAllByFilter_whenCurrentState_thenOnlyBookingsInProgress() {
+        Item item = entityManager.find(Item.class, bookingRepository.findAll().get(0).getItem().getId());
+        persistBooking(item, now.minusHours(1), BookingStatus.APPROVED);
+
+        List<BookingDto> current = bookingRepository.findAllByFilter(
+                itemOwnerIdIs(owner.getId()).and(inState(BookingState.CURRENT, now)), PageRequest.of(0, 10));
+
+        assertEquals(1, current.size());
+        assertEquals(now.minusHours(1), current.get(0).getStart());
+        assertEquals(owner.getId(), current.get(0).getItem().getOwner().getId());
+    }
+
+    @Test
+    void saveAll_whenManyBookings_thenInsertedInJdbcBatch() {
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            bookings.add(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(now.plusDays(10 + i))
+                    .end(now.plusDays(10 + i).plusHours(12))
+                    .bookingStatus(BookingStatus.WAITING)
+                    .build());
+        }
+
+        bookingRepository.saveAll(bookings);
+        entityManager.flush();
+
+        assertEquals(20, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2);
+        assertEquals(25, bookingRepository.count());
+    }
+
+    private void persistBooking(Item item, LocalDateTime start, BookingStatus status) {
+        entityManager.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusHours(12))
+                .bookingStatus(status)
+                .build());
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking.scheduletest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemScheduleIndexTest {
+    static final LocalDateTime BASE = LocalDateTime.of(2100, 1, 1, 0, 0);
+    static final long ITEM_ID = 1L;
+    static final long OWNER_ID = 10L;
+    static final long BOOKER_ID = 20L;
+
+    @Mock
+    BookingRepository bookingRepository;
+    ItemScheduleIndex itemScheduleIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemScheduleIndex = new ItemScheduleIndex(bookingRepository, true);
+    }
+
+    @Test
+    @DisplayName("isFree - пересечение с подтверждённым бронированием занято, стыковка свободна")
+    void isFreeShouldDetectOverlapsAndAllowAdjacentIntervals() {
+        rebuildWith(interval(1L, BOOKER_ID, 2, 4), interval(2L, BOOKER_ID, 6, 8));
+
+        assertFalse(itemScheduleIndex.isFree(ITEM_ID, at(3), at(5)));
+        assertFalse(itemScheduleIndex.isFree(ITEM_ID, at(1), at(9)));
+        assertFalse(itemScheduleIndex.isFree(ITEM_ID, at(7), at(7).plusMinutes(30)));
+        assertTrue(itemScheduleIndex.isFree(ITEM_ID, at(4), at(6)));
+        assertTrue(itemScheduleIndex.isFree(ITEM_ID, at(0), at(2)));
+        assertTrue(itemScheduleIndex.isFree(ITEM_ID, at(8), at(12)));
+        assertTrue(itemScheduleIndex.isFree(2L, at(3), at(5)));
+    }
+
+    @Test
+    @DisplayName("lastEndedBefore/firstEndingAfter - последнее завершённое и ближайшее незавершённое бронирование")
+    void lastAndNextShouldBeFoundByEnd() {
+        rebuildWith(interval(2L, BOOKER_ID, 6, 8), interval(1L, BOOKER_ID, 2, 4), interval(3L, BOOKER_ID, 10, 12));
+
+        assertEquals(1L, itemScheduleIndex.lastEndedBefore(ITEM_ID, at(7)).orElseThrow().getId());
+        assertEquals(2L, itemScheduleIndex.firstEndingAfter(ITEM_ID, at(7)).orElseThrow().getId());
+        assertTrue(itemScheduleIndex.lastEndedBefore(ITEM_ID, at(3)).isEmpty());
+        assertTrue(itemScheduleIndex.firstEndingAfter(ITEM_ID, at(13)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findBetween - возвращает бронирования, пересекающие интервал, в порядке начала")
+    void findBetweenShouldReturnOverlappingIntervalsInOrder() {
+        rebuildWith(interval(1L, BOOKER_ID, 2, 4), interval(2L, BOOKER_ID, 6, 8), interval(3L, BOOKER_ID, 10, 12));
+
+        assertEquals(List.of(1L, 2L), ids(itemScheduleIndex.findBetween(ITEM_ID, at(3), at(7))));
+        assertEquals(List.of(), ids(itemScheduleIndex.findBetween(ITEM_ID, at(4), at(6))));
+    }
+
+    @Test
+    @DisplayName("add/removeItem/removeUser - изменения отражаются в индексе")
+    void changesShouldUpdateIndexIncrementally() {
+        rebuildWith(interval(1L, BOOKER_ID, 2, 4));
+        User owner = User.builder().id(OWNER_ID).build();
+        itemScheduleIndex.add(Booking.builder()
+                .id(2L)
+                .item(Item.builder().id(ITEM_ID).owner(owner).build())
+                .booker(User.builder().id(30L).build())
+                .start(at(6))
+                .end(at(8))
+                .bookingStatus(BookingStatus.APPROVED)
+                .build());
+
+        assertFalse(itemScheduleIndex.isFree(ITEM_ID, at(7), at(9)));
+
+        itemScheduleIndex.removeUser(BOOKER_ID);
+        assertTrue(itemScheduleIndex.isFree(ITEM_ID, at(2), at(4)));
+        assertFalse(itemScheduleIndex.isFree(ITEM_ID, at(7), at(9)));
+
+        itemScheduleIndex.removeItem(ITEM_ID);
+        assertTrue(itemScheduleIndex.isFree(ITEM_ID, at(7), at(9)));
+    }
+
+    @Test
+    @DisplayName("rebuild - подтверждение, закоммиченное во время чтения снимка, не теряется")
+    void rebuildShouldReplayApprovalsCommittedWhileLoading() {
+        when(bookingRepository.findAllApprovedIntervals()).thenAnswer(invocation -> {
+            itemScheduleIndex.add(Booking.builder()
+                    .id(2L)
+                    .item(Item.builder().id(ITEM_ID).owner(User.builder().id(OWNER_ID).build()).build())
+                    .booker(User.builder().id(BOOKER_ID).build())
+                    .start(at(6))
+                    .end(at(8))
+                    .bookingStatus(BookingStatus.APPROVED)
+                    .build());
+            return List.of(interval(1L, BOOKER_ID, 2, 4));
+        });
+
+        itemScheduleIndex.rebuild();
+
+        assertFalse(itemScheduleIndex.isFree(ITEM_ID, at(3), at(5)));
+        assertFalse(itemScheduleIndex.isFree(ITEM_ID, at(7), at(9)));
+        assertEquals(List.of(1L, 2L), ids(itemScheduleIndex.findBetween(ITEM_ID, at(0), at(12))));
+    }
+
+    @Test
+    @DisplayName("rebuild - выключенный индекс не обращается к базе и не готов")
+    void disabledIndexShouldNotBeBuilt() {
+        ItemScheduleIndex disabled = new ItemScheduleIndex(bookingRepository, false);
+
+        disabled.rebuild();
+
+        assertFalse(disabled.isReady());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private void rebuildWith(BookingInterval... intervals) {
+        when(bookingRepository.findAllApprovedIntervals()).thenReturn(List.of(intervals));
+        itemScheduleIndex.rebuild();
+        assertTrue(itemScheduleIndex.isReady());
+    }
+
+    private static BookingInterval interval(Long id, Long bookerId, int startHour, int endHour) {
+        return new BookingInterval(id, ITEM_ID, OWNER_ID, bookerId, at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return BASE.plusHours(hour);
+    }
+
+    private static List<Long> ids(List<BookingInterval> intervals) {
+        return intervals.stream().map(BookingInterval::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,200 @@
+package ru.practicum.shareit.booking.servicetest;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.exceptions.BookingNotAvailableException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingApprovalConcurrencyTest {
+    static final int ITEMS = 4;
+    static final int BOOKINGS_PER_ITEM = 8;
+    static final int THREADS = 8;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    LocalDateTime base = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+    List<Long> userIds = new ArrayList<>();
+    Long ownerId;
+    Long bookerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser("owner");
+        bookerId = createUser("booker");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userIds.forEach(userService::deleteUser);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("approve - параллельные подтверждения не оставляют пересекающихся подтверждённых бронирований")
+    void concurrentApprovalsShouldNeverCommitOverlappingBookings() {
+        Map<Long, List<Long>> bookingIdsByItem = new HashMap<>();
+        for (int i = 0; i < ITEMS; i++) {
+            Long itemId = createItem();
+            List<Long> bookingIds = new ArrayList<>();
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                bookingIds.add(createBooking(itemId, base.plusHours(j), base.plusHours(j + 3)));
+            }
+            bookingIdsByItem.put(itemId, bookingIds);
+        }
+        List<Long> allBookingIds = bookingIdsByItem.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long bookingId : allBookingIds) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.approve(bookingId, ownerId, true);
+                        approved.incrementAndGet();
+                    } catch (BookingNotAvailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(allBookingIds.size(), approved.get() + rejected.get());
+        int committed = 0;
+        for (Map.Entry<Long, List<Long>> entry : bookingIdsByItem.entrySet()) {
+            List<BookingDto> approvedBookings = entry.getValue().stream()
+                    .map(id -> bookingService.getByIdAndBookerId(id, bookerId))
+                    .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                    .collect(Collectors.toList());
+            assertFalse(approvedBookings.isEmpty());
+            for (int i = 0; i < approvedBookings.size(); i++) {
+                for (int j = i + 1; j < approvedBookings.size(); j++) {
+                    BookingDto first = approvedBookings.get(i);
+                    BookingDto second = approvedBookings.get(j);
+                    assertFalse(first.getStart().isBefore(second.getEnd()) && second.getStart().isBefore(first.getEnd()),
+                            "пересекаются бронирования " + first.getId() + " и " + second.getId());
+                }
+            }
+            committed += approvedBookings.size();
+        }
+        assertEquals(approved.get(), committed);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("approve - блокировка одной вещи не задерживает подтверждение бронирований другой вещи")
+    void approvalShouldLockOnlyContendedItem() {
+        Long lockedItemId = createItem();
+        Long freeItemId = createItem();
+        Long bookingId = createBooking(freeItemId, base, base.plusHours(1));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                itemRepository.lockById(lockedItemId);
+                locked.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            long startedAt = System.nanoTime();
+            BookingDto result = bookingService.approve(bookingId, ownerId, true);
+
+            assertEquals(BookingStatus.APPROVED, result.getStatus());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 5_000);
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private Long createUser(String name) {
+        Long id = userService.createUser(UserDto.builder()
+                .name(name)
+                .email(UUID.randomUUID() + "@mail.com")
+                .build()).getId();
+        userIds.add(id);
+        return id;
+    }
+
+    private Long createItem() {
+        return itemService.createItem(ItemDto.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .build(), ownerId, null).getId();
+    }
+
+    private Long createBooking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingService.create(BookingRequestDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build(), bookerId).getId();
+    }
+}
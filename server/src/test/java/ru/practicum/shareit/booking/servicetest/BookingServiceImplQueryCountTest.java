@@ -0,0 +1,191 @@
+package ru.practicum.shareit.booking.servicetest;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingBatchResponseDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.filter.UserIdFilter;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookingServiceImpl.class, ItemRequestServiceImpl.class, ItemServiceImpl.class, ItemSearchIndex.class,
+        UserIdFilter.class, ItemScheduleIndex.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class BookingServiceImplQueryCountTest {
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    ItemRequestService itemRequestService;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    UserIdFilter userIdFilter;
+
+    User owner;
+    User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = entityManager.persist(User.builder().name("booker").email("booker@mail.com").build());
+        Item item = entityManager.persist(Item.builder()
+                .name("Item")
+                .description("Description")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(now.plusDays(i - 2))
+                    .end(now.plusDays(i - 2).plusHours(1))
+                    .bookingStatus(BookingStatus.WAITING)
+                    .build());
+            entityManager.persist(ItemRequest.builder()
+                    .description("Request " + i)
+                    .requesterId(owner.getId())
+                    .created(now)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        userIdFilter.rebuild();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    @DisplayName("getAllByUser/getAllByOwner - страница бронирований загружается без COUNT запроса")
+    void bookingListingsShouldNotIssueCountQuery(String state) {
+        Statistics statistics = statistics();
+
+        bookingService.getAllByUser(booker.getId(), state, 0, 2);
+        bookingService.getAllByOwner(owner.getId(), state, 0, 2);
+
+        assertNoCountQueries(statistics, "Booking");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    @DisplayName("getAllByUser/getAllByOwner - бронирования, вещи, владельцы и арендаторы загружаются одним запросом")
+    void bookingListingsShouldFetchAssociationsInSingleSelect(String state) {
+        Statistics statistics = statistics();
+
+        bookingService.getAllByUser(booker.getId(), state, 0, 5);
+        bookingService.getAllByOwner(owner.getId(), state, 0, 5);
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    @DisplayName("getAllByUser/getAllByOwner - бронирования проецируются в DTO без загрузки сущностей")
+    void bookingListingsShouldNotLoadEntities(String state) {
+        Statistics statistics = statistics();
+
+        bookingService.getAllByUser(booker.getId(), state, 0, 5);
+        bookingService.getAllByOwner(owner.getId(), state, 0, 5);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 2})
+    @DisplayName("readAllOtherItemRequests - страница запросов загружается без COUNT запроса")
+    void otherItemRequestsShouldNotIssueCountQuery(int from) {
+        Statistics statistics = statistics();
+
+        assertEquals(2, itemRequestService.readAllOtherItemRequests(booker.getId(), from, 2).size());
+
+        assertNoCountQueries(statistics, "ItemRequest");
+    }
+
+    @Test
+    @DisplayName("createBatch - число SQL-запросов не зависит от размера пакета")
+    void bookingBatchShouldIssueSameStatementCountForAnySize() {
+        long single = batchStatementCount(1);
+        long dozen = batchStatementCount(12);
+
+        assertEquals(single, dozen);
+    }
+
+    private long batchStatementCount(int size) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Item item = entityManager.persist(Item.builder()
+                    .name("Batch item " + i)
+                    .description("Description")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            requests.add(BookingRequestDto.builder()
+                    .itemId(item.getId())
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        BookingBatchResponseDto response = bookingService.createBatch(requests, booker.getId(), "ALL_OR_NOTHING");
+        entityManager.flush();
+
+        assertEquals(size, response.getCreated());
+        assertEquals(size, statistics.getEntityInsertCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private void assertNoCountQueries(Statistics statistics, String entity) {
+        String[] queries = statistics.getQueries();
+
+        assertTrue(Arrays.stream(queries).anyMatch(query -> query.contains("from " + entity + " ")));
+        assertTrue(Arrays.stream(queries)
+                        .filter(query -> query.contains("from " + entity + " "))
+                        .noneMatch(query -> query.toLowerCase().contains("count(")),
+                Arrays.toString(queries));
+    }
+}
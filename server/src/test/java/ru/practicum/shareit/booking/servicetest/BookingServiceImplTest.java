@@ -6,29 +6,39 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.dto.BookingBatchResponseDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.status.BookingBatchMode;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exceptions.BookingNotAvailableException;
 import ru.practicum.shareit.exceptions.BookingNotFoundException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
+import ru.practicum.shareit.exceptions.PaginationInvalidParamException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +51,10 @@ class BookingServiceImplTest {
     UserRepository userRepository;
     @Mock
     ItemRepository itemRepository;
+    @Mock
+    UserIdFilter userIdFilter;
+    @Mock
+    ItemScheduleIndex itemScheduleIndex;
     BookingDto bookingDto;
     Booking booking;
     Item item;
@@ -49,7 +63,9 @@ class BookingServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository, userIdFilter,
+                itemScheduleIndex);
+        lenient().when(userIdFilter.mightContain(anyLong())).thenReturn(true);
         user = User.builder().id(TEST_ID).build();
         item = Item.builder()
                 .id(TEST_ID)
@@ -129,6 +145,18 @@ class BookingServiceImplTest {
         verify(itemRepository, times(0)).findById(TEST_ID);
     }
 
+    @Test
+    @DisplayName("getAllByUser - id отсутствует в фильтре - UserNotFoundException без запроса к базе")
+    void getAllByUserWhenFilterRejectsIdShouldThrowWithoutDatabaseCall() {
+        when(userIdFilter.mightContain(TEST_ID)).thenReturn(false);
+
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
+                () -> bookingService.getAllByUser(TEST_ID, "ALL", 0, 10));
+
+        assertEquals("Пользователь не найден", exception.getMessage());
+        verifyNoInteractions(userRepository, bookingRepository);
+    }
+
     @Test
     @DisplayName("getBookingByIdAndBookerId - user not found - throw UserNotFoundException")
     void getBookingByIdAndBookerIdWhenUserNotFoundShouldThrowUserNotFoundException() {
@@ -362,14 +390,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingPatch));
-        when(bookingRepository.save(any())).thenReturn(bookingSaved);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(bookingSaved);
 
         BookingDto result = bookingService.approve(TEST_ID, TEST_ID, Boolean.FALSE);
 
         assertEquals(BookingStatus.REJECTED, result.getStatus());
         verify(userRepository, times(1)).existsById(any());
         verify(bookingRepository, times(1)).findById(any());
-        verify(bookingRepository, times(1)).save(any());
+        verify(bookingRepository, times(1)).saveAndFlush(any());
     }
 
     @Test
@@ -403,14 +431,227 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingPatch));
-        when(bookingRepository.save(any())).thenReturn(bookingSaved);
+        when(itemRepository.lockById(itemPatch.getId())).thenReturn(Optional.of(itemPatch.getId()));
+        when(bookingRepository.saveAndFlush(any())).thenReturn(bookingSaved);
 
         BookingDto result = bookingService.approve(TEST_ID, TEST_ID, Boolean.TRUE);
 
         assertEquals(BookingStatus.APPROVED, result.getStatus());
+        verify(itemRepository, times(1)).lockById(itemPatch.getId());
+        verify(bookingRepository, times(1)).existsApprovedOverlap(itemPatch.getId(), bookingPatch.getStart(),
+                bookingPatch.getEnd());
+        verify(itemScheduleIndex, times(1)).add(bookingPatch);
         verify(userRepository, times(1)).existsById(any());
         verify(bookingRepository, times(1)).findById(any());
-        verify(bookingRepository, times(1)).save(any());
+        verify(bookingRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("approve - пересечение с подтверждённым бронированием - BookingNotAvailableException")
+    void approveWhenOverlapsApprovedBookingShouldThrowBookingNotAvailableException() {
+        Booking waiting = Booking.builder()
+                .id(TEST_ID)
+                .booker(User.builder().id(4L).build())
+                .bookingStatus(BookingStatus.WAITING)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .item(item)
+                .build();
+        when(userRepository.existsById(TEST_ID)).thenReturn(true);
+        when(bookingRepository.findById(TEST_ID)).thenReturn(Optional.of(waiting));
+        when(itemRepository.lockById(item.getId())).thenReturn(Optional.of(item.getId()));
+        when(bookingRepository.existsApprovedOverlap(item.getId(), waiting.getStart(), waiting.getEnd()))
+                .thenReturn(true);
+
+        BookingNotAvailableException exception = assertThrows(BookingNotAvailableException.class,
+                () -> bookingService.approve(TEST_ID, TEST_ID, Boolean.TRUE));
+
+        assertEquals("Вещь уже забронирована на это время", exception.getMessage());
+        assertEquals(BookingStatus.WAITING, waiting.getBookingStatus());
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("create - пересечение с подтверждённым бронированием - BookingNotAvailableException")
+    void createWhenOverlapsApprovedBookingShouldThrowBookingNotAvailableException() {
+        Item createItem = Item.builder()
+                .id(TEST_ID)
+                .available(true)
+                .owner(User.builder().id(2L).build())
+                .build();
+        when(itemRepository.findById(TEST_ID)).thenReturn(Optional.of(createItem));
+        when(userRepository.findById(TEST_ID)).thenReturn(Optional.of(user));
+        when(bookingRepository.existsApprovedOverlap(TEST_ID, bookingCreateDto.getStart(), bookingCreateDto.getEnd()))
+                .thenReturn(true);
+
+        BookingNotAvailableException exception = assertThrows(BookingNotAvailableException.class,
+                () -> bookingService.create(bookingCreateDto, TEST_ID));
+
+        assertEquals("Вещь уже забронирована на это время", exception.getMessage());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("create - готовый индекс расписания - занятость проверяется без запроса к базе")
+    void createWhenScheduleIndexReadyShouldCheckAvailabilityInMemory() {
+        Item createItem = Item.builder()
+                .id(TEST_ID)
+                .available(true)
+                .owner(User.builder().id(2L).build())
+                .build();
+        when(itemRepository.findById(TEST_ID)).thenReturn(Optional.of(createItem));
+        when(userRepository.findById(TEST_ID)).thenReturn(Optional.of(user));
+        when(itemScheduleIndex.isReady()).thenReturn(true);
+        when(itemScheduleIndex.isFree(TEST_ID, bookingCreateDto.getStart(), bookingCreateDto.getEnd()))
+                .thenReturn(false);
+
+        assertThrows(BookingNotAvailableException.class, () -> bookingService.create(bookingCreateDto, TEST_ID));
+        verify(bookingRepository, never()).existsApprovedOverlap(any(), any(), any());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("createBatch - частичный режим - корректные бронирования создаются, ошибки возвращаются по элементам")
+    void createBatchInPartialModeShouldCreateValidAndReportFailed() {
+        Item createItem = Item.builder()
+                .id(TEST_ID)
+                .available(true)
+                .owner(User.builder().id(2L).build())
+                .build();
+        BookingRequestDto missingItem = BookingRequestDto.builder()
+                .itemId(99L)
+                .start(bookingCreateDto.getStart())
+                .end(bookingCreateDto.getEnd())
+                .build();
+        when(userRepository.findById(TEST_ID)).thenReturn(Optional.of(user));
+        when(itemRepository.findAllWithOwnerByIdIn(Set.of(TEST_ID, 99L))).thenReturn(List.of(createItem));
+        when(bookingRepository.findApprovedIntervalsByItemIdsBetween(any(), any(), any())).thenReturn(List.of());
+
+        BookingBatchResponseDto result = bookingService.createBatch(List.of(bookingCreateDto, missingItem), TEST_ID,
+                "partial");
+
+        assertEquals(BookingBatchMode.PARTIAL, result.getMode());
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(BookingBatchResultDto.Status.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(TEST_ID, result.getResults().get(0).getBooking().getItem().getId());
+        assertEquals(BookingBatchResultDto.Status.FAILED, result.getResults().get(1).getStatus());
+        assertEquals("Вещь не найдена", result.getResults().get(1).getError());
+        verify(bookingRepository, times(1)).saveAll(any());
+        verify(itemRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("createBatch - режим всё или ничего - при пересечении с подтверждённым бронированием ничего не создаётся")
+    void createBatchInAllOrNothingModeShouldSkipValidWhenAnyFailed() {
+        Item busyItem = Item.builder()
+                .id(TEST_ID)
+                .available(true)
+                .owner(User.builder().id(2L).build())
+                .build();
+        Item freeItem = Item.builder()
+                .id(3L)
+                .available(true)
+                .owner(User.builder().id(2L).build())
+                .build();
+        BookingRequestDto freeItemRequest = BookingRequestDto.builder()
+                .itemId(3L)
+                .start(bookingCreateDto.getStart())
+                .end(bookingCreateDto.getEnd())
+                .build();
+        when(userRepository.findById(TEST_ID)).thenReturn(Optional.of(user));
+        when(itemRepository.findAllWithOwnerByIdIn(any())).thenReturn(List.of(busyItem, freeItem));
+        when(bookingRepository.findApprovedIntervalsByItemIdsBetween(any(), any(), any()))
+                .thenReturn(List.of(new BookingInterval(5L, TEST_ID, 2L, 4L, bookingCreateDto.getStart().minusHours(1),
+                        bookingCreateDto.getStart().plusHours(1))));
+
+        BookingBatchResponseDto result = bookingService.createBatch(List.of(bookingCreateDto, freeItemRequest), TEST_ID,
+                "ALL_OR_NOTHING");
+
+        assertEquals(0, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals("Вещь уже забронирована на это время", result.getResults().get(0).getError());
+        assertEquals(BookingBatchResultDto.Status.SKIPPED, result.getResults().get(1).getStatus());
+        assertNull(result.getResults().get(1).getBooking());
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("createBatch - частичный режим - пересекающиеся в пакете бронирования одной вещи отклоняются")
+    void createBatchInPartialModeShouldFailOverlappingWithinBatch() {
+        Item createItem = Item.builder()
+                .id(TEST_ID)
+                .available(true)
+                .owner(User.builder().id(2L).build())
+                .build();
+        BookingRequestDto later = BookingRequestDto.builder()
+                .itemId(TEST_ID)
+                .start(bookingCreateDto.getEnd().plusHours(1))
+                .end(bookingCreateDto.getEnd().plusHours(3))
+                .build();
+        BookingRequestDto overlapping = BookingRequestDto.builder()
+                .itemId(TEST_ID)
+                .start(bookingCreateDto.getStart().plusMinutes(1))
+                .end(bookingCreateDto.getEnd().plusHours(2))
+                .build();
+        BookingRequestDto adjacent = BookingRequestDto.builder()
+                .itemId(TEST_ID)
+                .start(bookingCreateDto.getEnd())
+                .end(bookingCreateDto.getEnd().plusHours(1))
+                .build();
+        when(userRepository.findById(TEST_ID)).thenReturn(Optional.of(user));
+        when(itemRepository.findAllWithOwnerByIdIn(Set.of(TEST_ID))).thenReturn(List.of(createItem));
+        when(bookingRepository.findApprovedIntervalsByItemIdsBetween(any(), any(), any())).thenReturn(List.of());
+
+        BookingBatchResponseDto result = bookingService.createBatch(
+                List.of(later, bookingCreateDto, overlapping, adjacent), TEST_ID, "PARTIAL");
+
+        assertEquals(3, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(BookingBatchResultDto.Status.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(BookingBatchResultDto.Status.CREATED, result.getResults().get(1).getStatus());
+        assertEquals(BookingBatchResultDto.Status.FAILED, result.getResults().get(2).getStatus());
+        assertEquals("Бронирование пересекается с другим бронированием этой вещи в пакете",
+                result.getResults().get(2).getError());
+        assertEquals(BookingBatchResultDto.Status.CREATED, result.getResults().get(3).getStatus());
+        verify(bookingRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("createBatch - режим всё или ничего - при пересечении внутри пакета ничего не создаётся")
+    void createBatchInAllOrNothingModeShouldSkipAllWhenOverlappingWithinBatch() {
+        Item createItem = Item.builder()
+                .id(TEST_ID)
+                .available(true)
+                .owner(User.builder().id(2L).build())
+                .build();
+        BookingRequestDto sameInterval = BookingRequestDto.builder()
+                .itemId(TEST_ID)
+                .start(bookingCreateDto.getStart())
+                .end(bookingCreateDto.getEnd())
+                .build();
+        when(userRepository.findById(TEST_ID)).thenReturn(Optional.of(user));
+        when(itemRepository.findAllWithOwnerByIdIn(Set.of(TEST_ID))).thenReturn(List.of(createItem));
+        when(bookingRepository.findApprovedIntervalsByItemIdsBetween(any(), any(), any())).thenReturn(List.of());
+
+        BookingBatchResponseDto result = bookingService.createBatch(List.of(bookingCreateDto, sameInterval), TEST_ID,
+                "ALL_OR_NOTHING");
+
+        assertEquals(0, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(BookingBatchResultDto.Status.SKIPPED, result.getResults().get(0).getStatus());
+        assertEquals(BookingBatchResultDto.Status.FAILED, result.getResults().get(1).getStatus());
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("createBatch - неизвестный режим или пустой пакет - throw BookingNotAvailableException")
+    void createBatchWhenModeUnknownOrBatchEmptyShouldThrowBookingNotAvailableException() {
+        assertThrows(BookingNotAvailableException.class,
+                () -> bookingService.createBatch(List.of(bookingCreateDto), TEST_ID, "SOME"));
+        assertThrows(BookingNotAvailableException.class,
+                () -> bookingService.createBatch(List.of(), TEST_ID, "PARTIAL"));
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
@@ -451,7 +692,7 @@ class BookingServiceImplTest {
         assertEquals("Только владелец вещи может подтвердить бронирование", exception.getMessage());
         verify(userRepository, times(1)).existsById(any());
         verify(bookingRepository, times(1)).findById(any());
-        verify(bookingRepository, times(0)).save(any());
+        verify(bookingRepository, times(0)).saveAndFlush(any());
     }
 
     @Test
@@ -474,7 +715,7 @@ class BookingServiceImplTest {
         assertEquals("Только владелец вещи может подтвердить бронирование", exception.getMessage());
         verify(userRepository, times(1)).existsById(any());
         verify(bookingRepository, times(1)).findById(any());
-        verify(bookingRepository, times(0)).save(any());
+        verify(bookingRepository, times(0)).saveAndFlush(any());
     }
 
     @Test
@@ -497,7 +738,7 @@ class BookingServiceImplTest {
         assertEquals("Статус брони должен быть в ожидании - 'WAITING', другой статус подтвердить невозможно", exception.getMessage());
         verify(userRepository, times(1)).existsById(any());
         verify(bookingRepository, times(1)).findById(any());
-        verify(bookingRepository, times(0)).save(any());
+        verify(bookingRepository, times(0)).saveAndFlush(any());
     }
 
     @Test
@@ -512,7 +753,7 @@ class BookingServiceImplTest {
         assertEquals("Бронирование не найдено", exception.getMessage());
         verify(userRepository, times(1)).existsById(any());
         verify(bookingRepository, times(1)).findById(any());
-        verify(bookingRepository, times(0)).save(any());
+        verify(bookingRepository, times(0)).saveAndFlush(any());
     }
 
     @Test
@@ -527,17 +768,7 @@ class BookingServiceImplTest {
         verify(userRepository, times(1))
                 .existsById(anyLong());
         verify(bookingRepository, times(0))
-                .findAllByBooker_IdOrderByStartDesc(anyLong(), any());
-        verify(bookingRepository, times(0))
-                .findAllByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(anyLong(), any(), any(), any());
-        verify(bookingRepository, times(0))
-                .findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any());
-        verify(bookingRepository, times(0))
-                .findAllByBooker_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
-        verify(bookingRepository, times(0))
-                .findAllByBooker_IdAndBookingStatusOrderByStartDesc(anyLong(), any(), any());
-        verify(bookingRepository, times(0))
-                .findAllByBooker_IdAndBookingStatusOrderByStartDesc(anyLong(), any(), any());
+                .findAllByFilter(any(), any());
     }
 
     @Test
@@ -552,17 +783,7 @@ class BookingServiceImplTest {
         verify(userRepository, times(1))
                 .existsById(anyLong());
         verify(bookingRepository, times(0))
-                .findAllByBooker_IdOrderByStartDesc(anyLong(), any());
-        verify(bookingRepository, times(0))
-                .findAllByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(anyLong(), any(), any(), any());
-        verify(bookingRepository, times(0))
-                .findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any());
-        verify(bookingRepository, times(0))
-                .findAllByBooker_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
-        verify(bookingRepository, times(0))
-                .findAllByBooker_IdAndBookingStatusOrderByStartDesc(anyLong(), any(), any());
-        verify(bookingRepository, times(0))
-                .findAllByBooker_IdAndBookingStatusOrderByStartDesc(anyLong(), any(), any());
+                .findAllByFilter(any(), any());
     }
 
     @Test
@@ -570,14 +791,14 @@ class BookingServiceImplTest {
     void getAllByUserWhenInvokedDataStatePastShouldReturnListOfOneBooking() {
         String state = "PAST";
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepository.findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByUser(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -588,14 +809,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findAllByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(anyLong(), any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByUser(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findAllByBooker_IdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(anyLong(), any(), any(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -606,14 +827,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findAllByBooker_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByUser(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findAllByBooker_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -624,14 +845,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findAllByBooker_IdAndBookingStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByUser(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findAllByBooker_IdAndBookingStatusOrderByStartDesc(anyLong(), any(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -642,14 +863,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findAllByBooker_IdAndBookingStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByUser(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findAllByBooker_IdAndBookingStatusOrderByStartDesc(anyLong(), any(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -660,14 +881,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findAllByBooker_IdOrderByStartDesc(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByUser(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findAllByBooker_IdOrderByStartDesc(anyLong(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -683,7 +904,7 @@ class BookingServiceImplTest {
 
         ));
         verify(bookingRepository, times(0))
-                .findAllByBooker_IdOrderByStartDesc(anyLong(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -694,14 +915,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(anyLong(), any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByOwner(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(anyLong(), any(), any(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -712,14 +933,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByOwner(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -730,14 +951,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findByItemOwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByOwner(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -748,14 +969,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findByItemOwnerIdAndBookingStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByOwner(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndBookingStatusOrderByStartDesc(anyLong(), any(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -766,14 +987,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findByItemOwnerIdAndBookingStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByOwner(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndBookingStatusOrderByStartDesc(anyLong(), any(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -784,14 +1005,14 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findByItemOwnerIdOrderByStartDesc(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findAllByFilter(any(), any()))
+                .thenReturn(List.of(bookingDto));
 
         List<BookingDto> bookings = bookingService.getAllByOwner(TEST_ID, state, 0, 2);
 
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1))
-                .findByItemOwnerIdOrderByStartDesc(anyLong(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
 
@@ -807,7 +1028,55 @@ class BookingServiceImplTest {
 
         assertEquals("Unknown state: UNSUPPORTED_STATUS", exception.getMessage());
         verify(bookingRepository, times(0))
-                .findByItemOwnerIdOrderByStartDesc(anyLong(), any());
+                .findAllByFilter(any(), any());
         verify(userRepository, times(1)).existsById(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getAllByOwnerWithCursor - первая страница - slice из одного бронирования")
+    void getAllByOwnerWithCursorWhenCursorEmptyShouldStartFromFirstCursor() {
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByFilterAfterCursor(any(), eq(KeysetCursor.first()), eq(2)))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto), PageRequest.of(0, 2), false));
+
+        Slice<BookingDto> bookings = bookingService.getAllByOwnerWithCursor(TEST_ID, "waiting", "", 2);
+
+        assertEquals(1, bookings.getNumberOfElements());
+        assertFalse(bookings.hasNext());
+    }
+
+    @Test
+    @DisplayName("getAllByUserWithCursor - курсор передаётся в репозиторий")
+    void getAllByUserWithCursorShouldDecodeCursor() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2023, 1, 1, 10, 0), 5L);
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByFilterAfterCursor(any(), eq(cursor), eq(1)))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto), PageRequest.of(0, 1), true));
+
+        Slice<BookingDto> bookings = bookingService.getAllByUserWithCursor(TEST_ID, "ALL", cursor.encode(), 1);
+
+        assertEquals(1, bookings.getNumberOfElements());
+        assertTrue(bookings.hasNext());
+    }
+
+    @Test
+    @DisplayName("getAllByUserWithCursor - неверный статус или размер - исключение")
+    void getAllByUserWithCursorWhenInvalidParamsShouldThrow() {
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+
+        assertThrows(BookingNotAvailableException.class,
+                () -> bookingService.getAllByUserWithCursor(TEST_ID, "INVALID", "", 2));
+        assertThrows(PaginationInvalidParamException.class,
+                () -> bookingService.getAllByUserWithCursor(TEST_ID, "ALL", "", 0));
+        verify(bookingRepository, never()).findAllByFilterAfterCursor(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getAllByOwnerWithCursor - пользователь не найден - UserNotFoundException")
+    void getAllByOwnerWithCursorWhenUserNotExistsShouldThrowUserNotFoundException() {
+        when(userRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class,
+                () -> bookingService.getAllByOwnerWithCursor(TEST_ID, "ALL", "", 2));
+    }
+}
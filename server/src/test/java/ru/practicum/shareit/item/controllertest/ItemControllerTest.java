@@ -8,12 +8,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -24,10 +26,13 @@ import ru.practicum.shareit.user.model.User;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -103,6 +108,72 @@ class ItemControllerTest {
                         .header(USER_ID, 1L)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.0.0.u\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(itemResponseDto)))
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemAvailability_whenRangeGiven_thenStatusOkWithWindows() {
+        LocalDateTime from = LocalDateTime.of(2100, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(2);
+        List<AvailabilityWindowDto> windows = List.of(new AvailabilityWindowDto(from, from.plusDays(1)));
+        when(itemService.readItemAvailability(1L, 1L, from, to)).thenReturn(windows);
+
+        mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .header(USER_ID, 1L)
+                        .param("from", "2100-01-01T00:00:00")
+                        .param("to", "2100-01-03T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start", is("2100-01-01T00:00:00")))
+                .andExpect(jsonPath("$[0].end", is("2100-01-02T00:00:00")))
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemAvailability_whenRangeOmitted_thenDefaultRangeUsed() {
+        when(itemService.readItemAvailability(eq(1L), eq(1L), any(), any())).thenReturn(List.of());
+
+        mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .header(USER_ID, 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+        verify(itemService).readItemAvailability(eq(1L), eq(1L),
+                argThat(from -> !from.isAfter(LocalDateTime.now())),
+                argThat(to -> to.isAfter(LocalDateTime.now().plusDays(29))));
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemById_whenETagMatches_thenStatusNotModified() {
+        when(itemService.matchItemETag(anyLong(), anyLong(), anyString())).thenReturn(Optional.of("\"1.0.0.u\""));
+
+        mockMvc.perform(get("/items/{itemId}", 1L)
+                        .header(USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1.0.0.u\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.0.0.u\""))
+                .andExpect(content().string(""))
+                .andDo(print())
+                .andReturn();
+        verify(itemService, never()).readItemByItemIdAndUserId(anyLong(), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemById_whenETagIsStale_thenStatusOk() {
+        when(itemService.matchItemETag(anyLong(), anyLong(), anyString())).thenReturn(Optional.empty());
+        when(itemService.readItemByItemIdAndUserId(anyLong(), anyLong())).thenReturn(itemResponseDto);
+
+        mockMvc.perform(get("/items/{itemId}", 1L)
+                        .header(USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1.0.0.o0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.0.0.u\""))
                 .andExpect(content().json(objectMapper.writeValueAsString(itemResponseDto)))
                 .andDo(print())
                 .andReturn();
@@ -223,6 +294,7 @@ class ItemControllerTest {
                 .nextBooking(BookingResponseDto.builder().id(1L).build())
                 .lastBooking(BookingResponseDto.builder().id(2L).build())
                 .comments(List.of())
+                .etag("\"1.0.0.u\"")
                 .build();
     }
 
@@ -6,9 +6,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemTextView;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -17,7 +18,6 @@ import ru.practicum.shareit.util.Pagination;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -69,14 +69,40 @@ class ItemRepositoryTest {
         entityManager.persist(item2);
     }
 
+    @Test
+    void findAllByAvailableTrue_whenInvoked_thenReturnAvailableItemsWithOwner() {
+        List<ItemTextView> items = itemRepository.findAllByAvailableTrue();
+
+        assertEquals(1, items.size());
+        assertEquals(testItem.getId(), items.get(0).getId());
+        assertEquals("Item 1", items.get(0).getName());
+        assertEquals("Description 1", items.get(0).getDescription());
+        assertEquals(testItem.getOwner().getId(), items.get(0).getOwnerId());
+    }
+
     @Test
     void searchPage_whenInvoked_thenHaveListOneElement() {
-        List<Item> description = itemRepository.search("Description", Pagination.getPaginationWithoutSort(0, 2))
-                .stream().collect(Collectors.toList());
+        List<ItemDto> description = itemRepository.search("Description", Pagination.getPaginationWithoutSort(0, 2));
 
         assertEquals(1, description.size());
     }
 
+    @Test
+    void searchPage_whenNameMatches_thenItemRankedFirst() {
+        Item nameMatch = entityManager.persist(Item.builder()
+                .name("Description tool")
+                .description("tool")
+                .available(true)
+                .owner(testItem.getOwner())
+                .build());
+
+        List<ItemDto> result = itemRepository.search("dEsCrIpTiOn", Pagination.getPaginationWithoutSort(0, 10));
+
+        assertEquals(2, result.size());
+        assertEquals(nameMatch.getId(), result.get(0).getId());
+        assertEquals(testItem.getId(), result.get(1).getId());
+    }
+
     @Test
     void findByIdFull_whenInvoked_thenHaveItemById() {
         Optional<Item> byIdFull = itemRepository.findById(1L);
@@ -99,6 +125,14 @@ class ItemRepositoryTest {
         assertThat(allByRequestId.size()).isEqualTo(1);
     }
 
+    @Test
+    void findAllByRequestIdIn_whenInvoked_thenListHaveItemsOfAllRequests() {
+        List<Item> allByRequestIds = itemRepository.findAllByRequestIdIn(List.of(0L, 1L));
+
+        assertThat(allByRequestIds.size()).isEqualTo(1);
+        assertThat(allByRequestIds.get(0).getRequestId()).isEqualTo(1L);
+    }
+
     @Test
     void findAllByRequestId_whenInvokedNotExistRequest_thenListEmpty() {
         List<Item> allByRequestId = itemRepository.findAllByRequestId(0L);
@@ -108,15 +142,15 @@ class ItemRepositoryTest {
 
     @Test
     void findAllByOwnerIdOrderByIdAsc_whenInvoked_thenListHave2Items() {
-        Page<Item> allByOwnerIdOrderByIdAsc = itemRepository
+        List<Item> allByOwnerIdOrderByIdAsc = itemRepository
                 .findItemsByOwnerIdOrderByIdAsc(1L, Pagination.getPaginationWithoutSort(0, 2));
-        assertThat(allByOwnerIdOrderByIdAsc.getContent().size()).isEqualTo(2);
+        assertThat(allByOwnerIdOrderByIdAsc.size()).isEqualTo(2);
     }
 
     @Test
     void findAllByOwnerIdOrderByIdAsc_whenInvoked_thenListEmpty() {
-        Page<Item> allByOwnerIdOrderByIdAsc = itemRepository
+        List<Item> allByOwnerIdOrderByIdAsc = itemRepository
                 .findItemsByOwnerIdOrderByIdAsc(0L, Pagination.getPaginationWithoutSort(0, 2));
-        assertThat(allByOwnerIdOrderByIdAsc.getContent().size()).isEqualTo(0);
+        assertThat(allByOwnerIdOrderByIdAsc.size()).isEqualTo(0);
     }
 }
\ No newline at end of file
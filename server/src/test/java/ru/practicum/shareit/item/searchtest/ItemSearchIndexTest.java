@@ -0,0 +1,172 @@
+package ru.practicum.shareit.item.searchtest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemTextView;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    static final long OWNER_ID = 10L;
+
+    @Mock
+    ItemRepository itemRepository;
+    ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemSearchIndex = new ItemSearchIndex(itemRepository, true);
+    }
+
+    @Test
+    @DisplayName("search - совпадение в названии идёт раньше совпадения в описании, регистр не важен")
+    void searchShouldRankNameMatchesFirst() {
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(
+                view(1L, "Отвертка", "Аккумуляторная дрель-шуруповерт"),
+                view(2L, "Дрель", "Простая дрель"),
+                view(3L, "Пила", "Ручная")));
+        itemSearchIndex.rebuild();
+
+        assertEquals(List.of(2L, 1L), itemSearchIndex.search("ДРЕЛ", 0, 10));
+        assertEquals(List.of(1L), itemSearchIndex.search("дрел", 1, 10));
+        assertEquals(List.of(), itemSearchIndex.search("молоток", 0, 10));
+    }
+
+    @Test
+    @DisplayName("search - короткий запрос ищет подстроку во всех вещах")
+    void searchWhenQueryShorterThanGramShouldScanAllItems() {
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(
+                view(1L, "ab", "x"),
+                view(2L, "cd", "xab")));
+        itemSearchIndex.rebuild();
+
+        assertEquals(List.of(1L, 2L), itemSearchIndex.search("ab", 0, 10));
+    }
+
+    @Test
+    @DisplayName("index/remove - изменения вещи и удаление отражаются в индексе")
+    void indexAndRemoveShouldUpdateIndexIncrementally() {
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of());
+        itemSearchIndex.rebuild();
+
+        itemSearchIndex.index(item(1L, "Дрель", true));
+        itemSearchIndex.index(item(2L, "Дрель ударная", true));
+        assertEquals(List.of(1L, 2L), itemSearchIndex.search("дрель", 0, 10));
+
+        itemSearchIndex.index(item(1L, "Пила", true));
+        itemSearchIndex.index(item(2L, "Дрель ударная", false));
+        assertEquals(List.of(), itemSearchIndex.search("дрель", 0, 10));
+        assertEquals(List.of(1L), itemSearchIndex.search("пила", 0, 10));
+
+        itemSearchIndex.remove(1L);
+        assertEquals(List.of(), itemSearchIndex.search("пила", 0, 10));
+    }
+
+    @Test
+    @DisplayName("rebuild - изменения, закоммиченные во время чтения снимка, не теряются")
+    void rebuildShouldReplayChangesCommittedWhileLoading() {
+        when(itemRepository.findAllByAvailableTrue()).thenAnswer(invocation -> {
+            itemSearchIndex.index(item(2L, "Пила", true));
+            itemSearchIndex.remove(1L);
+            return List.of(view(1L, "Дрель", "Простая дрель"));
+        });
+
+        itemSearchIndex.rebuild();
+
+        assertEquals(List.of(), itemSearchIndex.search("дрель", 0, 10));
+        assertEquals(List.of(2L), itemSearchIndex.search("пила", 0, 10));
+    }
+
+    @Test
+    @DisplayName("removeOwner - вещи удалённого владельца пропадают из индекса")
+    void removeOwnerShouldDropOwnedItems() {
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(
+                view(1L, OWNER_ID, "Дрель", "Простая дрель"),
+                view(2L, 20L, "Дрель ударная", "Мощная дрель")));
+        itemSearchIndex.rebuild();
+        itemSearchIndex.index(item(3L, "Дрель новая", true));
+
+        itemSearchIndex.removeOwner(OWNER_ID);
+
+        assertEquals(List.of(2L), itemSearchIndex.search("дрель", 0, 10));
+    }
+
+    @Test
+    @DisplayName("checkConsistency - расхождения с базой попадают в отчёт")
+    void checkConsistencyShouldReportDifferences() {
+        when(itemRepository.findAllByAvailableTrue())
+                .thenReturn(List.of(view(1L, "Дрель", "Дрель"), view(2L, "Пила", "Пила")))
+                .thenReturn(List.of(view(1L, "Дрель", "Новая дрель"), view(3L, "Молоток", "Молоток")));
+        itemSearchIndex.rebuild();
+
+        Map<String, Object> report = itemSearchIndex.checkConsistency();
+
+        assertEquals(2, report.get("indexedItems"));
+        assertEquals(1, report.get("missing"));
+        assertEquals(1, report.get("stale"));
+        assertEquals(1, report.get("outdated"));
+        assertEquals(false, report.get("consistent"));
+    }
+
+    @Test
+    @DisplayName("isReady - индекс выключен - не строится и не используется")
+    void isReadyWhenDisabledShouldReturnFalse() {
+        ItemSearchIndex disabledIndex = new ItemSearchIndex(itemRepository, false);
+
+        disabledIndex.rebuild();
+
+        assertFalse(disabledIndex.isReady());
+        verify(itemRepository, never()).findAllByAvailableTrue();
+    }
+
+    private static Item item(Long id, String name, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description("описание")
+                .available(available)
+                .owner(User.builder().id(OWNER_ID).build())
+                .build();
+    }
+
+    private static ItemTextView view(Long id, String name, String description) {
+        return view(id, OWNER_ID, name, description);
+    }
+
+    private static ItemTextView view(Long id, Long ownerId, String name, String description) {
+        return new ItemTextView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return ownerId;
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item.servicetest;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, ItemSearchIndex.class, ItemScheduleIndex.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ItemServiceImplQueryCountTest {
+    static final int ITEMS_COUNT = 12;
+    static final int COMMENTS_PER_ITEM = 2;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder()
+                .name("owner")
+                .email("owner@mail.com")
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            Item item = entityManager.persist(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            User lastBooker = persistUser("last" + i);
+            User nextBooker = persistUser("next" + i);
+            entityManager.persist(Booking.builder()
+                    .item(item)
+                    .booker(lastBooker)
+                    .start(now.minusDays(3))
+                    .end(now.minusDays(2))
+                    .bookingStatus(BookingStatus.APPROVED)
+                    .build());
+            entityManager.persist(Booking.builder()
+                    .item(item)
+                    .booker(nextBooker)
+                    .start(now.plusDays(2))
+                    .end(now.plusDays(3))
+                    .bookingStatus(BookingStatus.WAITING)
+                    .build());
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                entityManager.persist(Comment.builder()
+                        .item(item)
+                        .author(persistUser("author" + i + "_" + j))
+                        .text("Comment " + j)
+                        .build());
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("readItemsOwnedByUserId - количество SQL запросов не зависит от числа вещей, бронирующих и авторов")
+    void readItemsOwnedByUserIdShouldIssueConstantNumberOfQueries() {
+        long singleItemQueries = countQueries(1);
+        long smallPageQueries = countQueries(2);
+        long largePageQueries = countQueries(ITEMS_COUNT - 2);
+        long fullPageQueries = countQueries(ITEMS_COUNT);
+
+        assertTrue(singleItemQueries > 0);
+        assertEquals(singleItemQueries, smallPageQueries);
+        assertEquals(singleItemQueries, largePageQueries);
+        assertEquals(singleItemQueries, fullPageQueries);
+    }
+
+    @Test
+    @DisplayName("readItemsOwnedByUserId - возвращает последнее и следующее бронирование и комментарии каждой вещи")
+    void readItemsOwnedByUserIdShouldAttachBookingsAndCommentsToEveryItem() {
+        entityManager.clear();
+
+        List<ItemResponseDto> result = itemService.readItemsOwnedByUserId(owner.getId(), 0, ITEMS_COUNT);
+
+        assertEquals(ITEMS_COUNT, result.size());
+        for (ItemResponseDto itemResponseDto : result) {
+            assertNotNull(itemResponseDto.getLastBooking());
+            assertNotNull(itemResponseDto.getNextBooking());
+            assertNotEquals(itemResponseDto.getLastBooking().getBookerId(), itemResponseDto.getNextBooking().getBookerId());
+            assertEquals(COMMENTS_PER_ITEM, itemResponseDto.getComments().size());
+        }
+    }
+
+    private User persistUser(String name) {
+        return entityManager.persist(User.builder()
+                .name(name)
+                .email(name + "@mail.com")
+                .build());
+    }
+
+    private long countQueries(int size) {
+        entityManager.clear();
+        EntityManagerFactory entityManagerFactory = entityManager.getEntityManager().getEntityManagerFactory();
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemResponseDto> result = itemService.readItemsOwnedByUserId(owner.getId(), 0, size);
+
+        assertEquals(size, result.size());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -8,25 +8,29 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exceptions.BookingNotAvailableException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
@@ -49,6 +53,12 @@ class ItemServiceImplTest {
     BookingRepository bookingRepository;
     @Mock
     CommentRepository commentRepository;
+    @Mock
+    ItemSearchIndex itemSearchIndex;
+    @Mock
+    ItemRequestRepository itemRequestRepository;
+    @Mock
+    ItemScheduleIndex itemScheduleIndex;
     Item item;
     ItemDto itemDto;
     ItemResponseDto itemResponseDto;
@@ -57,7 +67,8 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository);
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+                itemSearchIndex, itemRequestRepository, itemScheduleIndex);
 
         item = Item.builder()
                 .id(ID)
@@ -121,6 +132,7 @@ class ItemServiceImplTest {
         assertEquals(itemResponseDto.getRequestId(), result.getRequestId());
         verify(userRepository, times(1)).findById(ID);
         verify(itemRepository, times(1)).save(any());
+        verify(itemSearchIndex, times(1)).index(item);
     }
 
     @Test
@@ -167,6 +179,7 @@ class ItemServiceImplTest {
         assertEquals(updatedItemDto.getRequestId(), result.getRequestId());
         verify(itemRepository, times(1)).findById(ID);
         verify(itemRepository, times(1)).save(any());
+        verify(itemSearchIndex, times(1)).index(updatedItem);
         verify(userRepository, times(1)).existsById(any());
     }
 
@@ -291,40 +304,150 @@ class ItemServiceImplTest {
                 eq(ID), any(), any(), any());
     }
 
+    @Test
+    @DisplayName("readItemByItemIdAndUserId - ETag владельца действует до окончания ближайшего бронирования")
+    void readItemByItemIdAndUserIdShouldTagOwnerViewUntilNextBookingEnd() {
+        LocalDateTime nextEnd = LocalDateTime.of(2100, 1, 1, 10, 0);
+        item.setVersion(3L);
+        item.setActivityVersion(7L);
+        when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItemIdOrderByCreatedDesc(eq(ID))).thenReturn(List.of());
+        when(bookingRepository
+                .findTop1BookingByItemIdAndEndIsBeforeAndBookingStatusIs(eq(ID), any(), any(), any()))
+                .thenReturn(List.of());
+        when(bookingRepository
+                .findTop1BookingByItemIdAndEndIsAfterAndBookingStatusIs(eq(ID), any(), any(), any()))
+                .thenReturn(List.of(Booking.builder().id(ID).item(item).booker(user).end(nextEnd).build()));
+
+        ItemResponseDto result = itemService.readItemByItemIdAndUserId(ID, ID);
+
+        assertEquals("\"1.3.7.o4102480800\"", result.getEtag());
+        assertEquals("\"1.3.7.u\"", itemService.readItemByItemIdAndUserId(ID, 5L).getEtag());
+    }
+
+    @Test
+    @DisplayName("readItemByItemIdAndUserId - готовый индекс расписания - бронирования берутся без запросов к базе")
+    void readItemByItemIdAndUserIdShouldUseScheduleIndexWhenReady() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingInterval last = new BookingInterval(2L, ID, ID, 5L, now.minusDays(2), now.minusDays(1));
+        BookingInterval next = new BookingInterval(3L, ID, ID, 5L, now.plusDays(1), now.plusDays(2));
+        when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItemIdOrderByCreatedDesc(eq(ID))).thenReturn(List.of());
+        when(itemScheduleIndex.isReady()).thenReturn(true);
+        when(itemScheduleIndex.lastEndedBefore(eq(ID), any())).thenReturn(Optional.of(last));
+        when(itemScheduleIndex.firstEndingAfter(eq(ID), any())).thenReturn(Optional.of(next));
+
+        ItemResponseDto result = itemService.readItemByItemIdAndUserId(ID, ID);
+
+        assertEquals(2L, result.getLastBooking().getId());
+        assertEquals(3L, result.getNextBooking().getId());
+        assertEquals(5L, result.getNextBooking().getBookerId());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    @DisplayName("readItemAvailability - свободные окна между подтверждёнными бронированиями")
+    void readItemAvailabilityShouldReturnGapsBetweenApprovedBookings() {
+        LocalDateTime from = LocalDateTime.of(2100, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(userRepository.existsById(ID)).thenReturn(true);
+        when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+        when(itemScheduleIndex.isReady()).thenReturn(true);
+        when(itemScheduleIndex.findBetween(ID, from, to)).thenReturn(List.of(
+                new BookingInterval(1L, ID, ID, 5L, from.minusDays(1), from.plusDays(1)),
+                new BookingInterval(2L, ID, ID, 5L, from.plusDays(3), from.plusDays(4)),
+                new BookingInterval(3L, ID, ID, 5L, from.plusDays(4), from.plusDays(5))));
+
+        List<AvailabilityWindowDto> windows = itemService.readItemAvailability(ID, ID, from, to);
+
+        assertEquals(List.of(new AvailabilityWindowDto(from.plusDays(1), from.plusDays(3)),
+                new AvailabilityWindowDto(from.plusDays(5), to)), windows);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    @DisplayName("readItemAvailability - индекс не готов - окна строятся по бронированиям из базы")
+    void readItemAvailabilityShouldFallBackToRepositoryWhenIndexNotReady() {
+        LocalDateTime from = LocalDateTime.of(2100, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(2);
+        when(userRepository.existsById(ID)).thenReturn(true);
+        when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+        when(bookingRepository.findApprovedIntervalsBetween(ID, from, to)).thenReturn(List.of());
+
+        assertEquals(List.of(new AvailabilityWindowDto(from, to)), itemService.readItemAvailability(ID, ID, from, to));
+    }
+
+    @Test
+    @DisplayName("readItemAvailability - пустой интервал - BookingNotAvailableException")
+    void readItemAvailabilityWhenRangeEmptyShouldThrowBookingNotAvailableException() {
+        LocalDateTime from = LocalDateTime.of(2100, 1, 1, 0, 0);
+        when(userRepository.existsById(ID)).thenReturn(true);
+        when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+
+        assertThrows(BookingNotAvailableException.class, () -> itemService.readItemAvailability(ID, ID, from, from));
+    }
+
+    @Test
+    @DisplayName("matchItemETag - актуальный ETag - не загружает бронирования и комментарии")
+    void matchItemETagShouldMatchCurrentTagWithoutLoadingDetails() {
+        item.setVersion(3L);
+        when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+
+        assertEquals(Optional.of("\"1.3.0.o0\""), itemService.matchItemETag(ID, ID, "W/\"1.3.0.o0\""));
+        assertEquals(Optional.of("\"1.3.0.u\""), itemService.matchItemETag(ID, 5L, "\"1.2.0.u\", \"1.3.0.u\""));
+        verifyNoInteractions(commentRepository, bookingRepository);
+    }
+
+    @Test
+    @DisplayName("matchItemETag - устаревший ETag - не совпадает")
+    void matchItemETagShouldNotMatchStaleTag() {
+        item.setVersion(3L);
+        item.setActivityVersion(1L);
+        when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+
+        assertTrue(itemService.matchItemETag(ID, ID, "\"1.3.0.o0\"").isEmpty());
+        assertTrue(itemService.matchItemETag(ID, ID, "\"1.3.1.o1\"").isEmpty());
+        assertTrue(itemService.matchItemETag(ID, ID, "\"1.3.1.u\"").isEmpty());
+        assertTrue(itemService.matchItemETag(ID, 5L, "\"1.3.1.o0\"").isEmpty());
+        assertTrue(itemService.matchItemETag(ID, ID, "*").isEmpty());
+    }
+
     @Test
     @DisplayName("deleteItem - валидный id - удаление вещи")
     void deleteItemShouldDeleteItem() {
-        when(itemRepository.existsById(ID)).thenReturn(true);
+        when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
 
         itemService.deleteById(ID);
 
-        verify(itemRepository, times(1)).existsById(ID);
-        verify(itemRepository, times(1)).deleteById(ID);
+        verify(itemRepository, times(1)).findById(ID);
+        verify(itemRepository, times(1)).delete(item);
+        verify(itemSearchIndex, times(1)).remove(ID);
+        verify(itemRequestRepository, times(1)).incrementItemsVersion(ID);
     }
 
     @Test
     @DisplayName("deleteItem - id не существует - выбрасывает ItemNotFoundException")
     void deleteItemShouldThrowItemNotFoundExceptionWhenItemNotExist() {
-        when(itemRepository.existsById(ID)).thenReturn(false);
+        when(itemRepository.findById(ID)).thenReturn(Optional.empty());
 
         ItemNotFoundException itemNotFoundException = assertThrows(ItemNotFoundException.class,
                 () -> itemService.deleteById(ID));
 
         assertEquals("Вещь не найдена", itemNotFoundException.getMessage());
-        verify(itemRepository, times(1)).existsById(ID);
-        verify(itemRepository, times(0)).deleteById(ID);
+        verify(itemRepository, times(1)).findById(ID);
+        verify(itemRepository, times(0)).delete(any());
     }
 
     @Test
     @DisplayName("readItemsOwnedByUserId - валидный id - возвращает список вещей")
     void readItemsOwnedByUserIdShouldReturnListOfItem() {
         when(itemRepository.findItemsByOwnerIdOrderByIdAsc(eq(ID), any()))
-                .thenReturn(new PageImpl<>(List.of(item)));
-        when(commentRepository.findAllByItemIdOrderByCreatedDesc(eq(ID))).thenReturn(List.of());
-        when(bookingRepository.findFirstByItem_idAndEndBeforeOrderByEndDesc(eq(ID), any()))
-                .thenReturn(Booking.builder().id(1L).booker(user).build());
-        when(bookingRepository.findFirstByItem_idAndStartAfterOrderByStartAsc(eq(ID), any()))
-                .thenReturn(Booking.builder().id(2L).booker(user).build());
+                .thenReturn(List.of(item));
+        when(commentRepository.findAllByItemIdInOrderByCreatedDesc(eq(List.of(ID)))).thenReturn(List.of(comment));
+        when(bookingRepository.findLastAndNextBookingsByItemIds(eq(List.of(ID)), any()))
+                .thenReturn(List.of(
+                        Booking.builder().id(1L).item(item).booker(user).end(LocalDateTime.now().minusDays(1)).build(),
+                        Booking.builder().id(2L).item(item).booker(user).end(LocalDateTime.now().plusDays(2)).build()));
         when(userRepository.existsById(any())).thenReturn(true);
 
         List<ItemResponseDto> result = itemService.readItemsOwnedByUserId(ID, 0, 2);
@@ -332,19 +455,18 @@ class ItemServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(result.get(0).getLastBooking().getId(), 1L);
         assertEquals(result.get(0).getNextBooking().getId(), 2L);
+        assertEquals(1, result.get(0).getComments().size());
         verify(itemRepository, times(1)).findItemsByOwnerIdOrderByIdAsc(eq(ID), any());
-        verify(commentRepository, times(1)).findAllByItemIdOrderByCreatedDesc(eq(ID));
-        verify(bookingRepository, times(1))
-                .findFirstByItem_idAndEndBeforeOrderByEndDesc(eq(ID), any());
-        verify(bookingRepository, times(1))
-                .findFirstByItem_idAndStartAfterOrderByStartAsc(eq(ID), any());
+        verify(commentRepository, times(1)).findAllByItemIdInOrderByCreatedDesc(eq(List.of(ID)));
+        verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIds(eq(List.of(ID)), any());
+        verify(commentRepository, never()).findAllByItemIdOrderByCreatedDesc(any());
     }
 
 
     @Test
     @DisplayName("readItemsOwnedByUserId - id не существует - выбрасывает UserNotFoundException ")
     void readItemsOwnedByUserIdWhenUserNotExistShouldThrowUserNotFoundException() {
-        when(itemRepository.findItemsByOwnerIdOrderByIdAsc(eq(ID), any())).thenReturn(Page.empty());
+        when(itemRepository.findItemsByOwnerIdOrderByIdAsc(eq(ID), any())).thenReturn(List.of());
         when(userRepository.existsById(any())).thenReturn(false).thenThrow(UserNotFoundException.class);
 
         UserNotFoundException userNotFoundException = assertThrows(UserNotFoundException.class,
@@ -352,18 +474,15 @@ class ItemServiceImplTest {
 
         assertEquals("Пользователь не найден", userNotFoundException.getMessage());
         verify(itemRepository, times(1)).findItemsByOwnerIdOrderByIdAsc(eq(ID), any());
-        verify(commentRepository, times(0)).findAllByItemIdOrderByCreatedDesc(eq(ID));
-        verify(bookingRepository, times(0))
-                .findFirstByItem_idAndEndBeforeOrderByEndDesc(eq(ID), any());
-        verify(bookingRepository, times(0))
-                .findFirstByItem_idAndStartAfterOrderByStartAsc(eq(ID), any());
+        verify(commentRepository, times(0)).findAllByItemIdInOrderByCreatedDesc(any());
+        verify(bookingRepository, times(0)).findLastAndNextBookingsByItemIds(any(), any());
     }
 
 
     @Test
     @DisplayName("search - валидные данные - возвращает список вещей")
     void searchShouldReturnListOfItem() {
-        when(itemRepository.search(anyString(), any())).thenReturn(new PageImpl<>(List.of(item)));
+        when(itemRepository.search(anyString(), any())).thenReturn(List.of(ItemMapper.toItemDto(item)));
 
         List<ItemDto> result = itemService.search("test", 0, 2);
 
@@ -371,6 +490,28 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).search(anyString(), any());
     }
 
+    @Test
+    @DisplayName("search - индекс построен - возвращает вещи в порядке индекса без запроса поиска в базу")
+    void searchWhenIndexReadyShouldReturnItemsInIndexOrder() {
+        Item secondItem = Item.builder()
+                .id(2L)
+                .owner(user)
+                .name("test 2")
+                .description("test 2")
+                .available(true)
+                .build();
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.search("test", 0, 2)).thenReturn(List.of(2L, ID));
+        when(itemRepository.findAllByIdIn(List.of(2L, ID))).thenReturn(List.of(ItemMapper.toItemDto(item), ItemMapper.toItemDto(secondItem)));
+
+        List<ItemDto> result = itemService.search("test", 0, 2);
+
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(ID, result.get(1).getId());
+        verify(itemRepository, never()).search(anyString(), any());
+    }
+
     @Test
     @DisplayName("search - пустой текст - возвращает пустой список вещей")
     void searchWhenTextIsEmptyShouldReturnEmptyList() {
@@ -611,4 +752,24 @@ class ItemServiceImplTest {
         assertEquals(0, result.size());
         verify(itemRepository, times(1)).findAllByRequestId(ID);
     }
+
+    @Test
+    @DisplayName("findAllItemByRequests - валидные данные - возвращает вещи всех запросов одним запросом")
+    void findAllItemByRequestsShouldReturnListOfItem() {
+        when(itemRepository.findAllByRequestIdIn(List.of(ID, 2L))).thenReturn(List.of(item));
+
+        List<ItemDto> result = itemService.findAllItemByRequests(List.of(ID, 2L));
+
+        assertEquals(1, result.size());
+        verify(itemRepository, times(1)).findAllByRequestIdIn(List.of(ID, 2L));
+    }
+
+    @Test
+    @DisplayName("findAllItemByRequests - пустой список запросов - не обращается к базе")
+    void findAllItemByRequestsShouldReturnEmptyListWhenNoRequests() {
+        List<ItemDto> result = itemService.findAllItemByRequests(List.of());
+
+        assertEquals(0, result.size());
+        verify(itemRepository, never()).findAllByRequestIdIn(any());
+    }
 }
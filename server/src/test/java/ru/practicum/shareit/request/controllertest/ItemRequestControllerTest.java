@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exceptions.ItemRequestNotFoundException;
@@ -19,13 +20,17 @@ import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.util.Constants.USER_ID;
 
@@ -83,11 +88,29 @@ class ItemRequestControllerTest {
         mockMvc.perform(get("/requests/1")
                         .header(USER_ID, "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.0\""))
                 .andExpect(content().json(objectMapper.writeValueAsString(itemRequestDto)))
                 .andDo(print())
                 .andReturn();
     }
 
+    @Test
+    @SneakyThrows
+    void readOneConcreteItemRequestWhenETagMatchesShouldReturnStatusNotModified() {
+        when(itemRequestService.matchItemRequestETag(anyLong(), anyLong(), anyString()))
+                .thenReturn(Optional.of("\"1.0\""));
+
+        mockMvc.perform(get("/requests/1")
+                        .header(USER_ID, "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.0\""))
+                .andExpect(content().string(""))
+                .andDo(print())
+                .andReturn();
+        verify(itemRequestService, never()).readOneConcreteItemRequest(anyLong(), anyLong());
+    }
+
     @Test
     @SneakyThrows
     void readAllOtherItemRequestsWhenInvokedShouldReturnOneRequestAndStatusOk() {
@@ -152,6 +175,7 @@ class ItemRequestControllerTest {
                 .created(LocalDateTime.now())
                 .description("test")
                 .items(List.of(ItemDto.builder().id(1L).build()))
+                .etag("\"1.0\"")
                 .build();
     }
 
@@ -5,10 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exceptions.ItemRequestNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestPostDto;
@@ -16,6 +16,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.storage.UserRepository;
 import ru.practicum.shareit.util.Pagination;
 
@@ -37,6 +38,8 @@ class ItemRequestServiceImplTest {
     UserRepository userRepository;
     @Mock
     ItemService itemService;
+    @Mock
+    UserIdFilter userIdFilter;
     ItemRequestDto itemRequestDto;
     ItemRequest itemRequest;
     ItemRequestPostDto itemRequestPostDto;
@@ -45,7 +48,9 @@ class ItemRequestServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        itemRequestService = new ItemRequestServiceImpl(userRepository, itemRequestRepository, itemService);
+        itemRequestService = new ItemRequestServiceImpl(userRepository, itemRequestRepository, itemService,
+                userIdFilter);
+        lenient().when(userIdFilter.mightContain(anyLong())).thenReturn(true);
         itemRequestDto = ItemRequestDto.builder()
                 .items(List.of())
                 .id(ID_FOR_CORRECT_TEST)
@@ -70,7 +75,7 @@ class ItemRequestServiceImplTest {
         when(userRepository.existsById(eq(ID_FOR_CORRECT_TEST))).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(eq(ID_FOR_CORRECT_TEST)))
                 .thenReturn(List.of(itemRequest));
-        when(itemService.findAllItemByRequest(eq(ID_FOR_CORRECT_TEST))).thenReturn(List.of());
+        when(itemService.findAllItemByRequests(eq(List.of(ID_FOR_CORRECT_TEST)))).thenReturn(List.of());
 
 
         List<ItemRequestDto> itemRequests = itemRequestService.readOwnItemRequestsById(ID_FOR_CORRECT_TEST);
@@ -81,6 +86,30 @@ class ItemRequestServiceImplTest {
                 .findAllByRequesterIdOrderByCreatedDesc(ID_FOR_CORRECT_TEST);
     }
 
+    @Test
+    void readOwnItemRequestsByIdWhenInvokedShouldAttachItemsWithOneLookup() {
+        ItemRequest secondItemRequest = ItemRequest.builder()
+                .id(2L)
+                .description("test")
+                .created(LocalDateTime.now())
+                .requesterId(1L)
+                .build();
+        when(userRepository.existsById(eq(ID_FOR_CORRECT_TEST))).thenReturn(true);
+        when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(eq(ID_FOR_CORRECT_TEST)))
+                .thenReturn(List.of(itemRequest, secondItemRequest));
+        when(itemService.findAllItemByRequests(eq(List.of(ID_FOR_CORRECT_TEST, 2L))))
+                .thenReturn(List.of(ItemDto.builder().id(1L).requestId(2L).build(),
+                        ItemDto.builder().id(2L).requestId(2L).build()));
+
+        List<ItemRequestDto> itemRequests = itemRequestService.readOwnItemRequestsById(ID_FOR_CORRECT_TEST);
+
+        assertEquals(2, itemRequests.size());
+        assertEquals(0, itemRequests.get(0).getItems().size());
+        assertEquals(2, itemRequests.get(1).getItems().size());
+        verify(itemService, times(1)).findAllItemByRequests(any());
+        verify(itemService, never()).findAllItemByRequest(any());
+    }
+
     @Test
     void readOwnItemRequestsByIdWhenInvokedWithEmptyListShouldReturnEmptyList() {
         when(userRepository.existsById(eq(ID_FOR_CORRECT_TEST))).thenReturn(true);
@@ -96,6 +125,17 @@ class ItemRequestServiceImplTest {
                 .findAllByRequesterIdOrderByCreatedDesc(ID_FOR_CORRECT_TEST);
     }
 
+    @Test
+    void createItemRequestWhenFilterRejectsUserShouldThrowWithoutDatabaseCall() {
+        when(userIdFilter.mightContain(ID_FOR_CORRECT_TEST)).thenReturn(false);
+
+        UserNotFoundException userNotFoundException = assertThrows(UserNotFoundException.class,
+                () -> itemRequestService.createItemRequest(ID_FOR_CORRECT_TEST, itemRequestPostDto));
+
+        assertEquals("Пользователь не найден", userNotFoundException.getMessage());
+        verifyNoInteractions(userRepository, itemRequestRepository);
+    }
+
     @Test
     void readOwnItemRequestsByIdWhenUserNotExistShouldThrowUserNotFoundException() {
         when(userRepository.existsById(eq(ID_FOR_CORRECT_TEST))).thenReturn(false);
@@ -140,7 +180,7 @@ class ItemRequestServiceImplTest {
     void readAllOtherItemRequestsWhenInvokedWithValidDataShouldReturnListOfOne() {
         when(userRepository.existsById(ID_FOR_CORRECT_TEST)).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdNot(ID_FOR_CORRECT_TEST, pageable))
-                .thenReturn(new PageImpl<>(List.of(itemRequest)));
+                .thenReturn(List.of(itemRequest));
 
         List<ItemRequestDto> itemRequests = itemRequestService.readAllOtherItemRequests(ID_FOR_CORRECT_TEST, 0, 2);
 
@@ -154,7 +194,7 @@ class ItemRequestServiceImplTest {
     void readAllOtherItemRequestsWhenInvokedShouldReturnEmptyList() {
         when(userRepository.existsById(ID_FOR_CORRECT_TEST)).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdNot(ID_FOR_CORRECT_TEST, pageable))
-                .thenReturn(new PageImpl<>(List.of()));
+                .thenReturn(List.of());
 
         List<ItemRequestDto> itemRequests = itemRequestService.readAllOtherItemRequests(ID_FOR_CORRECT_TEST, 0, 2);
 
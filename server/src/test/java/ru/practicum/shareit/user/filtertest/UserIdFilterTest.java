@@ -0,0 +1,107 @@
+package ru.practicum.shareit.user.filtertest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.filter.UserIdFilter;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdFilterTest {
+    @Mock
+    UserRepository userRepository;
+    UserIdFilter userIdFilter;
+
+    @BeforeEach
+    void setUp() {
+        userIdFilter = new UserIdFilter(userRepository, true, true, 10_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("mightContain - до построения фильтр пропускает любой id")
+    void mightContainBeforeRebuildShouldAllowAnyId() {
+        assertFalse(userIdFilter.isReady());
+        assertTrue(userIdFilter.mightContain(42L));
+    }
+
+    @Test
+    @DisplayName("rebuild - все сохранённые id проходят фильтр, ложных срабатываний не больше ожидаемого")
+    void rebuildShouldContainAllIdsWithBoundedFalsePositives() {
+        List<Long> ids = LongStream.rangeClosed(1, 10_000).boxed().collect(Collectors.toList());
+        when(userRepository.findAllIds()).thenReturn(ids);
+        userIdFilter.rebuild();
+
+        assertTrue(ids.stream().allMatch(userIdFilter::mightContain));
+        long falsePositives = LongStream.rangeClosed(1_000_001, 1_100_000)
+                .filter(userIdFilter::mightContain)
+                .count();
+        assertTrue(falsePositives < 2_000, "ложных срабатываний: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("add/remove - созданный пользователь проходит фильтр, удалённый отсекается")
+    void addAndRemoveShouldUpdateFilterIncrementally() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L));
+        userIdFilter.rebuild();
+
+        assertFalse(userIdFilter.mightContain(2L));
+        userIdFilter.add(2L);
+        assertTrue(userIdFilter.mightContain(2L));
+
+        userIdFilter.remove(2L);
+        assertFalse(userIdFilter.mightContain(2L));
+        assertTrue(userIdFilter.mightContain(1L));
+        verify(userRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("mightContain - без single-writer промах перепроверяется по базе, найденный id добавляется в фильтр")
+    void mightContainWithoutSingleWriterShouldConfirmNegativesInDatabase() {
+        UserIdFilter shared = new UserIdFilter(userRepository, true, false, 10_000, 0.01);
+        when(userRepository.findAllIds()).thenReturn(List.of(1L));
+        shared.rebuild();
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.existsById(3L)).thenReturn(false);
+
+        assertTrue(shared.mightContain(2L));
+        assertTrue(shared.mightContain(2L));
+        assertFalse(shared.mightContain(3L));
+        assertTrue(shared.mightContain(1L));
+        verify(userRepository, times(1)).existsById(2L);
+        verify(userRepository, never()).existsById(1L);
+    }
+
+    @Test
+    @DisplayName("rebuild - повторная перестройка подхватывает пользователей, добавленных в обход экземпляра")
+    void rebuildShouldPickUpUsersInsertedElsewhere() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L));
+        userIdFilter.rebuild();
+        assertFalse(userIdFilter.mightContain(2L));
+
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+        userIdFilter.rebuild();
+
+        assertTrue(userIdFilter.mightContain(2L));
+    }
+
+    @Test
+    @DisplayName("mightContain - выключенный фильтр не обращается к базе и пропускает любой id")
+    void disabledFilterShouldAllowAnyId() {
+        UserIdFilter disabled = new UserIdFilter(userRepository, false, true, 10_000, 0.01);
+
+        disabled.rebuild();
+
+        assertTrue(disabled.mightContain(42L));
+        verifyNoInteractions(userRepository);
+    }
+}
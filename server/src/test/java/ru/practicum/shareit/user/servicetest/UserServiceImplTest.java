@@ -7,14 +7,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.schedule.ItemScheduleIndex;
 import ru.practicum.shareit.exceptions.AlreadyExistException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 import ru.practicum.shareit.user.storage.UserRepository;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +38,20 @@ import static ru.practicum.shareit.user.mapper.UserMapper.toUserDto;
 class UserServiceImplTest {
     @Mock
     UserRepository userRepository;
+    @Mock
+    ItemRepository itemRepository;
+    @Mock
+    ItemRequestRepository itemRequestRepository;
+    @Mock
+    EntityManagerFactory entityManagerFactory;
+    @Mock
+    Cache entityCache;
+    @Mock
+    UserIdFilter userIdFilter;
+    @Mock
+    ItemScheduleIndex itemScheduleIndex;
+    @Mock
+    ItemSearchIndex itemSearchIndex;
     UserService userService;
 
     UserDto userDto;
@@ -37,7 +59,8 @@ class UserServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, itemRepository, itemRequestRepository,
+                entityManagerFactory, userIdFilter, itemScheduleIndex, itemSearchIndex);
         userDto = UserDto.builder()
                 .id(1L)
                 .name("test")
@@ -54,19 +77,20 @@ class UserServiceImplTest {
     @Test
     @DisplayName("createUser - должен сохранять пользвателя в базу")
     void createUserShouldSaveWhenRequestHasValidData() {
-        when(userRepository.save(any())).thenReturn(user);
+        when(userRepository.saveAndFlush(any())).thenReturn(user);
 
         UserDto userSave = userService.createUser(userDto);
 
         assertEquals(user.getEmail(), userSave.getEmail());
         assertEquals(user.getName(), userSave.getName());
+        verify(userIdFilter, times(1)).add(user.getId());
 
     }
 
     @Test
     @DisplayName("createUser - должен выбрасывать AlreadyExistsException")
     public void createUserShouldThrowAlreadyExistException() {
-        when(userRepository.save(any(User.class))).thenThrow(DataIntegrityViolationException.class);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(DataIntegrityViolationException.class);
         assertThrows(AlreadyExistException.class, () -> userService.createUser(userDto));
     }
 
@@ -147,11 +171,18 @@ class UserServiceImplTest {
     @DisplayName("deleteUser - должен удалять из базы")
     void deleteUserShouldDelete() {
         when(userRepository.existsById(any())).thenReturn(true);
+        when(entityManagerFactory.getCache()).thenReturn(entityCache);
 
         userService.deleteUser(user.getId());
 
         verify(userRepository, times(1)).existsById(user.getId());
         verify(userRepository, times(1)).existsById(user.getId());
+        verify(itemRepository, times(1)).incrementActivityVersionByParticipantId(user.getId());
+        verify(itemRequestRepository, times(1)).incrementItemsVersionByItemOwnerId(user.getId());
+        verify(entityCache, times(1)).evict(Item.class);
+        verify(userIdFilter, times(1)).remove(user.getId());
+        verify(itemScheduleIndex, times(1)).removeUser(user.getId());
+        verify(itemSearchIndex, times(1)).removeOwner(user.getId());
     }
 
     @Test
@@ -170,7 +201,7 @@ class UserServiceImplTest {
     @Test
     @DisplayName("readUser - должен возвращать список пользователей")
     void readUsersShouldReturnListOfUsers() {
-        when(userRepository.findAll()).thenReturn(List.of(user));
+        when(userRepository.findAllUserDtos()).thenReturn(List.of(toUserDto(user)));
 
         List<UserDto> userDtoList = userService.readUsers();
 
@@ -180,7 +211,7 @@ class UserServiceImplTest {
     @Test
     @DisplayName("readAll - размер возвращаемого листа должен быть 0")
     void readAllListSizeShouldBe0WhenUsersListIsEmpty() {
-        when(userRepository.findAll()).thenReturn(List.of());
+        when(userRepository.findAllUserDtos()).thenReturn(List.of());
 
         List<UserDto> userDtoList = userService.readUsers();
 
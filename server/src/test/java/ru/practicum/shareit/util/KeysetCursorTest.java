@@ -0,0 +1,34 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exceptions.PaginationInvalidParamException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+    @Test
+    @DisplayName("encode/decode - курсор восстанавливается без потерь")
+    void decodeShouldRestoreEncodedCursor() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2023, 5, 1, 12, 30, 15, 123_000_000), 42L);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    @DisplayName("decode - пустой курсор - первая страница")
+    void decodeWhenBlankShouldReturnFirstCursor() {
+        assertEquals(KeysetCursor.first(), KeysetCursor.decode(""));
+        assertEquals(KeysetCursor.first(), KeysetCursor.decode(null));
+    }
+
+    @Test
+    @DisplayName("decode - испорченный курсор - PaginationInvalidParamException")
+    void decodeWhenCursorIsBrokenShouldThrowPaginationInvalidParamException() {
+        assertThrows(PaginationInvalidParamException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(PaginationInvalidParamException.class, () -> KeysetCursor.decode("bm9zZXBhcmF0b3I"));
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.util;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlCountingDataSourcePostProcessorTest {
+    @Test
+    @SneakyThrows
+    @DisplayName("close - пул соединений за прокси закрывается вместе с контекстом")
+    void closingContextShouldCloseWrappedPool() {
+        SqlExecutionCounter counter = new SqlExecutionCounter();
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:sql-counting-close");
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(SqlCountingDataSourcePostProcessor.class,
+                () -> new SqlCountingDataSourcePostProcessor(counter, true));
+        context.registerBean("dataSource", HikariDataSource.class, () -> pool);
+        context.refresh();
+
+        DataSource dataSource = context.getBean("dataSource", DataSource.class);
+        counter.start();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+        assertNotSame(pool, dataSource);
+        assertTrue(dataSource instanceof Closeable);
+        assertEquals(1, counter.stop().getStatements());
+
+        context.close();
+
+        assertTrue(pool.isClosed());
+    }
+}